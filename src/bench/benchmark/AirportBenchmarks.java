@@ -0,0 +1,126 @@
+package benchmark;
+
+import model.Airport;
+import model.Flight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Benchmarks of the simulation hot paths of Airport.
+// Airports are built with half arrival and half departure flights. With low
+// congestion the airport can park every flight, with high congestion it can
+// park only one, so almost every arrival stalls and low fuel flights are sent
+// to the emergency lane.
+public class AirportBenchmarks {
+    public static final String LOW_CONGESTION = "low";
+    public static final String HIGH_CONGESTION = "high";
+    private static final long SEED = 210;
+    private static final int IS_DONE_CALLS = 1_000_000;
+    private static final String SEARCHED_NAME = "b737-42"; // 11 of the 1000 names
+    private static final int SEARCHES_PER_RUN = 100; // a single search is too short to time on its own
+
+    private final Harness harness;
+
+    // EFFECTS: constructs the benchmarks that run on harness
+    public AirportBenchmarks(Harness harness) {
+        this.harness = harness;
+    }
+
+    // EFFECTS: returns an airport with numFlights flights and numRunways runways,
+    // that can park as many flights as congestion allows
+    public static Airport buildAirport(int numFlights, int numRunways, String congestion) {
+        int capacity = HIGH_CONGESTION.equals(congestion) ? 1 : Math.max(1, numFlights);
+        Airport airport = new Airport("BENCH", capacity, numRunways);
+        airport.setSeed(SEED);
+        for (Flight flight : buildFlights(airport, numFlights)) {
+            airport.addFlight(flight);
+        }
+        return airport;
+    }
+
+    // EFFECTS: returns numFlights new flights for airport, without adding them
+    public static List<Flight> buildFlights(Airport airport, int numFlights) {
+        List<Flight> flights = new ArrayList<>(numFlights);
+        for (int i = 0; i < numFlights; i++) {
+            int type = i % 2 == 0 ? Flight.TYPE_ARIVAL : Flight.TYPE_DEPARTURE;
+            Flight flight = new Flight("B737-" + (i % 1000), "Commercial", type, airport.getRandom());
+            flight.setOrigin("YVR");
+            flight.setDestination("YYZ");
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    // EFFECTS: times one round of an airport, per flight in the airport
+    public void processFlightsOneRound(int numFlights, int numRunways, String congestion) throws Exception {
+        this.harness.measure("processFlightsOneRound", params(numFlights, numRunways, congestion), numFlights,
+                () -> buildAirport(numFlights, numRunways, congestion),
+                Airport::processFlightsOneRound);
+    }
+
+    // EFFECTS: times calls of isDone that take turns on an airport with
+    // numFlights flights and on one that is done. Every call reads its airport
+    // with a volatile read, so the JIT cannot hoist isDone out of the loop.
+    public void isDone(int numFlights) throws Exception {
+        this.harness.measure("isDone", "flights=" + numFlights, IS_DONE_CALLS,
+                () -> {
+                    AtomicReferenceArray<Airport> airports = new AtomicReferenceArray<>(2);
+                    airports.set(0, buildAirport(numFlights, 1, LOW_CONGESTION));
+                    airports.set(1, new Airport("DONE", 1, 1));
+                    return airports;
+                },
+                airports -> {
+                    long done = 0;
+                    for (int i = 0; i < IS_DONE_CALLS; i++) {
+                        done += airports.get(i & 1).isDone() ? 1 : 0;
+                    }
+                    Harness.consume(done);
+                });
+    }
+
+    // EFFECTS: times adding numFlights flights to an empty airport, per flight
+    public void addFlight(int numFlights) throws Exception {
+        this.harness.measure("addFlight", "flights=" + numFlights, numFlights,
+                () -> new EmptyAirport(numFlights),
+                state -> {
+                    for (Flight flight : state.flights) {
+                        state.airport.addFlight(flight);
+                    }
+                });
+    }
+
+    // EFFECTS: times a search by part of an airplane name, ignoring case, on an
+    // airport with numFlights flights whose names are already indexed, per search
+    public void searchByAirplaneName(int numFlights) throws Exception {
+        this.harness.measure("searchByAirplaneName", "flights=" + numFlights, SEARCHES_PER_RUN,
+                () -> {
+                    Airport airport = buildAirport(numFlights, 1, LOW_CONGESTION);
+                    airport.searchByAirplaneName(SEARCHED_NAME); // builds the index
+                    return airport;
+                },
+                airport -> {
+                    for (int i = 0; i < SEARCHES_PER_RUN; i++) {
+                        Harness.consume(airport.searchByAirplaneName(SEARCHED_NAME).size());
+                    }
+                });
+    }
+
+    // An empty airport and the flights that are going to be added to it
+    private static class EmptyAirport {
+        private final Airport airport;
+        private final List<Flight> flights;
+
+        // EFFECTS: constructs an empty airport and numFlights flights for it
+        EmptyAirport(int numFlights) {
+            this.airport = new Airport("BENCH", Math.max(1, numFlights), 1);
+            this.airport.setSeed(SEED);
+            this.flights = buildFlights(this.airport, numFlights);
+        }
+    }
+
+    // EFFECTS: returns the params of a simulation benchmark as text
+    private static String params(int numFlights, int numRunways, String congestion) {
+        return "flights=" + numFlights + ",runways=" + numRunways + ",congestion=" + congestion;
+    }
+}
@@ -0,0 +1,235 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Runs the benchmarks of the simulation and persistence hot paths.
+// Options (all optional):
+//   --flights=1000,100000,1000000   sizes of the simulation benchmarks
+//   --runways=1,8,128               runways of processFlightsOneRound
+//   --io-flights=1000,100000        sizes of the persistence benchmarks
+//   --warmup=5 --iterations=15      iterations of every benchmark
+//   --only=<benchmark name>         runs only the benchmarks whose name contains it
+//   --out=<file>                    saves the results table to file
+//   --merge=<file>                  saves, for each benchmark, the slower of its
+//                                   result in this run and in file, if it exists;
+//                                   a baseline is recorded over several runs
+//                                   with --out=<file> --merge=<file>
+//   --baseline=<file>               compares the results with a saved table and
+//                                   exits with status 1 if any median got slower
+//                                   than its tolerance allows: --threshold
+//                                   (default 0.25), or more for a benchmark whose
+//                                   iterations are spread wider. Benchmarks whose
+//                                   operation runs for under a millisecond are
+//                                   shown but not gated
+public class BenchmarkMain {
+    private static final String[] CONGESTIONS = {AirportBenchmarks.LOW_CONGESTION,
+            AirportBenchmarks.HIGH_CONGESTION};
+
+    private static final double MIN_GATED_RUN_NANOS = 1_000_000; // shorter runs differ too much between JVMs
+    private static final double SPREAD_TOLERANCE = 2.0; // how many spreads a median may move by
+
+    private final Map<String, String> options;
+
+    // EFFECTS: constructs a runner with the options given as args
+    public BenchmarkMain(String[] args) {
+        this.options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) {
+                this.options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new BenchmarkMain(args).run());
+    }
+
+    // EFFECTS: runs the benchmarks and returns the exit status
+    public int run() throws Exception {
+        Harness harness = new Harness(intOption("warmup", 5), intOption("iterations", 15));
+        System.out.println(Harness.header());
+        runAirportBenchmarks(new AirportBenchmarks(harness));
+        runPersistenceBenchmarks(new PersistenceBenchmarks(harness));
+        if (this.options.containsKey("out")) {
+            List<Harness.Result> results = harness.getResults();
+            if (this.options.containsKey("merge") && Files.exists(Paths.get(this.options.get("merge")))) {
+                results = slowest(results, loadBaseline(this.options.get("merge")));
+            }
+            save(results, this.options.get("out"));
+        }
+        if (this.options.containsKey("baseline")) {
+            return compare(harness.getResults(), this.options.get("baseline"));
+        }
+        return 0;
+    }
+
+    // EFFECTS: runs the selected benchmarks of Airport
+    private void runAirportBenchmarks(AirportBenchmarks benchmarks) throws Exception {
+        int[] sizes = intsOption("flights", "1000,100000,1000000");
+        for (int numFlights : sizes) {
+            for (int numRunways : intsOption("runways", "1,8,128")) {
+                for (String congestion : CONGESTIONS) {
+                    if (selected("processFlightsOneRound")) {
+                        benchmarks.processFlightsOneRound(numFlights, numRunways, congestion);
+                    }
+                }
+            }
+        }
+        for (int numFlights : sizes) {
+            if (selected("isDone")) {
+                benchmarks.isDone(numFlights);
+            }
+            if (selected("addFlight")) {
+                benchmarks.addFlight(numFlights);
+            }
+            if (selected("searchByAirplaneName")) {
+                benchmarks.searchByAirplaneName(numFlights);
+            }
+        }
+    }
+
+    // EFFECTS: runs the selected benchmarks of JsonWriter and JsonReader
+    private void runPersistenceBenchmarks(PersistenceBenchmarks benchmarks) throws Exception {
+        for (int numFlights : intsOption("io-flights", "1000,100000")) {
+            if (selected("JsonWriter.write")) {
+                benchmarks.write(numFlights);
+            }
+            if (selected("JsonReader.read")) {
+                benchmarks.read(numFlights);
+            }
+            if (selected("CsvImporter.importInto")) {
+                benchmarks.importCsv(numFlights);
+            }
+            for (boolean compress : new boolean[] {false, true}) {
+                runCompressibleBenchmarks(benchmarks, numFlights, compress);
+            }
+        }
+    }
+
+    // EFFECTS: runs the selected benchmarks of the writers and readers that can
+    // compress their files, compressed or not
+    private void runCompressibleBenchmarks(PersistenceBenchmarks benchmarks, int numFlights, boolean compress)
+            throws Exception {
+        if (selected("JsonWriter.writeStreaming")) {
+            benchmarks.writeStreaming(numFlights, true, compress);
+            benchmarks.writeStreaming(numFlights, false, compress);
+        }
+        if (selected("JsonReader.readStreaming")) {
+            benchmarks.readStreaming(numFlights, compress);
+        }
+        if (selected("SnapshotWriter.write")) {
+            benchmarks.writeSnapshot(numFlights, compress);
+        }
+        if (selected("SnapshotReader.read")) {
+            benchmarks.readSnapshot(numFlights, compress);
+        }
+        if (selected("SnapshotReader.view")) {
+            benchmarks.viewSnapshot(numFlights, compress);
+        }
+    }
+
+    // EFFECTS: saves the results table to file; throws IOException if it cannot
+    // be written
+    private void save(List<Harness.Result> results, String file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            writer.println("# java " + System.getProperty("java.version") + ", "
+                    + Runtime.getRuntime().availableProcessors() + " cores, "
+                    + (Runtime.getRuntime().maxMemory() >> 20) + " MB heap");
+            writer.println(Harness.header());
+            for (Harness.Result result : results) {
+                writer.println(result.toLine());
+            }
+        }
+    }
+
+    // EFFECTS: returns the results, each replaced by the saved one of the same
+    // benchmark if that has a slower median, followed by the saved results of
+    // benchmarks that did not run
+    private static List<Harness.Result> slowest(List<Harness.Result> results, Map<String, Harness.Result> saved) {
+        Map<String, Harness.Result> others = new LinkedHashMap<>(saved);
+        List<Harness.Result> slowest = new ArrayList<>();
+        for (Harness.Result result : results) {
+            Harness.Result other = others.remove(result.getKey());
+            boolean slower = other != null && other.getMedianNanosPerOp() > result.getMedianNanosPerOp();
+            slowest.add(slower ? other : result);
+        }
+        slowest.addAll(others.values());
+        return slowest;
+    }
+
+    // EFFECTS: prints how the medians compare to the ones saved in the baseline
+    // file and returns 1 if any gated benchmark got slower than its tolerance
+    // allows, 0 otherwise. The tolerance is the threshold, or SPREAD_TOLERANCE
+    // times the spread of the benchmark in the baseline or in this run if that
+    // is wider, so a noisy benchmark does not fail on noise alone.
+    private int compare(List<Harness.Result> results, String file) throws IOException {
+        Map<String, Harness.Result> baseline = loadBaseline(file);
+        double threshold = Double.parseDouble(this.options.getOrDefault("threshold", "0.25"));
+        int regressions = 0;
+        System.out.println("\nCompared with " + file + ":");
+        for (Harness.Result result : results) {
+            Harness.Result expected = baseline.get(result.getKey());
+            if (expected == null) {
+                continue; // new
+            }
+            double ratio = result.getMedianNanosPerOp() / expected.getMedianNanosPerOp();
+            double tolerance = Math.max(threshold,
+                    SPREAD_TOLERANCE * Math.max(expected.getSpread(), result.getSpread()));
+            boolean gated = result.getMedianNanosPerRun() >= MIN_GATED_RUN_NANOS
+                    && expected.getMedianNanosPerOp() > 0;
+            boolean regressed = gated && ratio > 1 + tolerance;
+            regressions += regressed ? 1 : 0;
+            System.out.println(String.format(Locale.ROOT, "%-67s %6.2fx  (max %5.2fx)%s", result.getKey(), ratio,
+                    1 + tolerance, regressed ? "  REGRESSION" : gated ? "" : "  not gated"));
+        }
+        return regressions == 0 ? 0 : 1;
+    }
+
+    // EFFECTS: returns the results saved in the baseline file, in order, keyed by
+    // benchmark name and params; the table does not keep the ops per run
+    private Map<String, Harness.Result> loadBaseline(String file) throws IOException {
+        Map<String, Harness.Result> baseline = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+            String[] columns = line.trim().split("\\s+");
+            if (line.startsWith("#") || columns.length != 5 || columns[0].equals("benchmark")) {
+                continue;
+            }
+            Harness.Result result = new Harness.Result(columns[0], columns[1], 1, Double.parseDouble(columns[2]),
+                    Double.parseDouble(columns[3]), Double.parseDouble(columns[4]));
+            baseline.put(result.getKey(), result);
+        }
+        return baseline;
+    }
+
+    // EFFECTS: indicates whether or not the benchmark name was selected to run
+    private boolean selected(String name) {
+        return name.contains(this.options.getOrDefault("only", ""));
+    }
+
+    // EFFECTS: returns the option key as an int, or defaultValue if not given
+    private int intOption(String key, int defaultValue) {
+        return Integer.parseInt(this.options.getOrDefault(key, Integer.toString(defaultValue)));
+    }
+
+    // EFFECTS: returns the option key as a comma separated list of ints, or
+    // defaultValue if not given
+    private int[] intsOption(String key, String defaultValue) {
+        String[] values = this.options.getOrDefault(key, defaultValue).split(",");
+        int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = Integer.parseInt(values[i].trim());
+        }
+        return ints;
+    }
+}
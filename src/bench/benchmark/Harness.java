@@ -0,0 +1,172 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Represents a small benchmark harness that times operations with System.nanoTime.
+// Every iteration gets a fresh state from its setup, which is not timed, then the
+// operation is timed; the first warmupIterations, and any more run within the
+// first MIN_WARMUP_NANOS, are thrown away so the JIT can compile the hot paths
+// before measuring. An iteration starts with a garbage collection and repeats
+// setup and operation as many times as take about MIN_ITERATION_NANOS, so short
+// operations with a cheap setup are not timed at the resolution of the clock.
+// The median of the measured iterations is the figure to compare runs with:
+// unlike the mean, it is not moved by the odd iteration that hits a garbage
+// collection or a compilation.
+public class Harness {
+    private static final long MIN_ITERATION_NANOS = 10_000_000;
+    private static final int MAX_RUNS_PER_ITERATION = 1000;
+    private static final long MIN_WARMUP_NANOS = 1_000_000_000;
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final List<Result> results;
+    private static volatile long sink; // keeps results of benchmarks from being optimized away
+
+    // Creates the state a benchmark operation works on
+    public interface Setup<T> {
+        T create() throws Exception;
+    }
+
+    // An operation whose running time is measured
+    public interface Operation<T> {
+        void run(T state) throws Exception;
+    }
+
+    // Represents the measured time of one benchmark with one set of parameters
+    public static class Result {
+        private final String name;
+        private final String params;
+        private final double meanNanosPerOp;
+        private final double medianNanosPerOp;
+        private final double minNanosPerOp;
+        private final int opsPerRun;
+
+        // EFFECTS: constructs a result of the benchmark name with params, where
+        // one run of the operation counted as opsPerRun operations
+        public Result(String name, String params, int opsPerRun, double meanNanosPerOp, double medianNanosPerOp,
+                double minNanosPerOp) {
+            this.name = name;
+            this.params = params;
+            this.opsPerRun = opsPerRun;
+            this.meanNanosPerOp = meanNanosPerOp;
+            this.medianNanosPerOp = medianNanosPerOp;
+            this.minNanosPerOp = minNanosPerOp;
+        }
+
+        // EFFECTS: returns the key that identifies the benchmark and its params
+        public String getKey() {
+            return this.name + " " + this.params;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getParams() {
+            return this.params;
+        }
+
+        public double getMeanNanosPerOp() {
+            return this.meanNanosPerOp;
+        }
+
+        public double getMedianNanosPerOp() {
+            return this.medianNanosPerOp;
+        }
+
+        public double getMinNanosPerOp() {
+            return this.minNanosPerOp;
+        }
+
+        // EFFECTS: returns how many nanoseconds one run of the operation took,
+        // going by the median
+        public double getMedianNanosPerRun() {
+            return this.medianNanosPerOp * this.opsPerRun;
+        }
+
+        // EFFECTS: returns how much slower the median iteration was than the
+        // fastest one, e.g. 0.1 for 10% slower
+        public double getSpread() {
+            return this.minNanosPerOp > 0 ? this.medianNanosPerOp / this.minNanosPerOp - 1 : 0;
+        }
+
+        // EFFECTS: returns the result as one line of the results table
+        public String toLine() {
+            return String.format(Locale.ROOT, "%-26s %-40s %16.1f %16.1f %16.1f",
+                    this.name, this.params, this.meanNanosPerOp, this.medianNanosPerOp, this.minNanosPerOp);
+        }
+    }
+
+    // REQUIRES: measuredIterations > 0
+    // EFFECTS: constructs a harness with the given number of iterations
+    public Harness(int warmupIterations, int measuredIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+        this.results = new ArrayList<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs the benchmark name, where each run of operation counts as
+    // opsPerRun operations, prints and returns its result
+    public <T> Result measure(String name, String params, int opsPerRun, Setup<T> setup, Operation<T> operation)
+            throws Exception {
+        long start = System.nanoTime();
+        time(setup, operation); // also warms up
+        long firstRun = System.nanoTime() - start; // with the setup, which can cost much more than operation
+        int runs = (int) Math.min(MAX_RUNS_PER_ITERATION, MIN_ITERATION_NANOS / Math.max(1, firstRun) + 1);
+        for (int i = 0; i < this.warmupIterations || System.nanoTime() - start < MIN_WARMUP_NANOS; i++) {
+            iterate(setup, operation, runs);
+        }
+        double[] samples = new double[this.measuredIterations];
+        double total = 0;
+        for (int i = 0; i < this.measuredIterations; i++) {
+            samples[i] = (double) iterate(setup, operation, runs) / runs / opsPerRun;
+            total += samples[i];
+        }
+        Arrays.sort(samples);
+        int middle = samples.length / 2;
+        double median = samples.length % 2 == 1 ? samples[middle] : (samples[middle - 1] + samples[middle]) / 2;
+        Result result = new Result(name, params, opsPerRun, total / this.measuredIterations, median, samples[0]);
+        this.results.add(result);
+        System.out.println(result.toLine());
+        return result;
+    }
+
+    // EFFECTS: runs one iteration, of runs runs of operation, and returns how
+    // many nanoseconds the operation took in total
+    private static <T> long iterate(Setup<T> setup, Operation<T> operation, int runs) throws Exception {
+        System.gc(); // so the garbage of the last iteration is not collected while timing this one
+        long nanos = 0;
+        for (int run = 0; run < runs; run++) {
+            nanos += time(setup, operation);
+        }
+        return nanos;
+    }
+
+    // EFFECTS: runs operation once on a new state from setup and returns how
+    // many nanoseconds the operation took
+    private static <T> long time(Setup<T> setup, Operation<T> operation) throws Exception {
+        T state = setup.create();
+        long start = System.nanoTime();
+        operation.run(state);
+        return System.nanoTime() - start;
+    }
+
+    // EFFECTS: keeps value alive so the work that computed it is not removed
+    public static void consume(long value) {
+        sink += value;
+    }
+
+    // EFFECTS: returns the header line of the results table
+    public static String header() {
+        return String.format(Locale.ROOT, "%-26s %-40s %16s %16s %16s", "benchmark", "params", "mean ns/op",
+                "median ns/op", "min ns/op");
+    }
+
+    public List<Result> getResults() {
+        return this.results;
+    }
+}
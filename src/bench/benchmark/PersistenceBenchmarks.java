@@ -0,0 +1,188 @@
+package benchmark;
+
+import model.Airport;
+import model.Flight;
+import persistence.CsvImporter;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import persistence.SnapshotReader;
+import persistence.SnapshotView;
+import persistence.SnapshotWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+// Benchmarks of saving an airport with JsonWriter and loading it with JsonReader.
+// Files are written to a temporary directory that is deleted when the JVM exits.
+// Benchmarks of gzip compressed files have ",gzip" in their params and print the
+// size of the file they wrote, to weigh the saved I/O against the CPU spent.
+public class PersistenceBenchmarks {
+    private static final int VIEW_PAGE_SIZE = 50;
+    private static final int VIEWS_PER_RUN = 100; // a single view is too short to time on its own
+
+    private final Harness harness;
+    private final File directory;
+
+    // EFFECTS: constructs the benchmarks that run on harness; throws IOException
+    // if the temporary directory cannot be created
+    public PersistenceBenchmarks(Harness harness) throws IOException {
+        this.harness = harness;
+        this.directory = Files.createTempDirectory("airport-bench").toFile();
+        this.directory.deleteOnExit();
+    }
+
+    // EFFECTS: times saving an airport with numFlights flights, per flight
+    public void write(int numFlights) throws Exception {
+        String destination = file("write-" + numFlights + ".json");
+        Airport airport = AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION);
+        this.harness.measure("JsonWriter.write", "flights=" + numFlights, numFlights,
+                () -> new JsonWriter(destination),
+                writer -> {
+                    writer.open();
+                    writer.write(airport);
+                    writer.close();
+                });
+    }
+
+    // EFFECTS: times saving an airport with numFlights flights with the streaming
+    // writer, indented or not, compressed or not, per flight
+    public void writeStreaming(int numFlights, boolean indent, boolean compress) throws Exception {
+        String destination = file("write-streaming-" + numFlights + "-" + indent + "-" + compress + ".json");
+        Airport airport = AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION);
+        this.harness.measure("JsonWriter.writeStreaming", params(numFlights, compress) + ",indent=" + indent,
+                numFlights,
+                () -> new JsonWriter(destination, indent, compress),
+                writer -> {
+                    writer.open();
+                    writer.writeStreaming(airport);
+                    writer.close();
+                });
+        printSize(destination);
+    }
+
+    // EFFECTS: times loading an airport with numFlights flights, per flight
+    public void read(int numFlights) throws Exception {
+        String source = savedAirport(numFlights);
+        this.harness.measure("JsonReader.read", "flights=" + numFlights, numFlights,
+                () -> new JsonReader(source),
+                reader -> Harness.consume(reader.read().getFlightsQueue().size()));
+    }
+
+    // EFFECTS: times loading an airport with numFlights flights with the streaming
+    // reader, from a compressed file or not, per flight
+    public void readStreaming(int numFlights, boolean compress) throws Exception {
+        String source = compress ? savedAirport(numFlights, true) : savedAirport(numFlights);
+        this.harness.measure("JsonReader.readStreaming", params(numFlights, compress), numFlights,
+                () -> new JsonReader(source),
+                reader -> Harness.consume(reader.readStreaming().getFlightsQueue().size()));
+    }
+
+    // EFFECTS: times saving the binary snapshot of an airport with numFlights
+    // flights, compressed or not, per flight
+    public void writeSnapshot(int numFlights, boolean compress) throws Exception {
+        String destination = file("snapshot-write-" + numFlights + "-" + compress + ".snap");
+        Airport airport = AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION);
+        this.harness.measure("SnapshotWriter.write", params(numFlights, compress), numFlights,
+                () -> new SnapshotWriter(destination, compress),
+                writer -> {
+                    writer.open();
+                    writer.write(airport);
+                    writer.close();
+                });
+        printSize(destination);
+    }
+
+    // EFFECTS: times loading the binary snapshot of an airport with numFlights
+    // flights, compressed or not, per flight
+    public void readSnapshot(int numFlights, boolean compress) throws Exception {
+        String source = file("snapshot-read-" + numFlights + "-" + compress + ".snap");
+        SnapshotWriter writer = new SnapshotWriter(source, compress);
+        writer.open();
+        writer.write(AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION));
+        writer.close();
+        this.harness.measure("SnapshotReader.read", params(numFlights, compress), numFlights,
+                () -> new SnapshotReader(source),
+                reader -> Harness.consume(reader.read().getFlightsQueue().size()));
+    }
+
+    // EFFECTS: times opening a view of the binary snapshot of an airport with
+    // numFlights flights, compressed or not, and reading a page of flights from
+    // its middle, per view
+    public void viewSnapshot(int numFlights, boolean compress) throws Exception {
+        String source = file("snapshot-view-" + numFlights + "-" + compress + ".snap");
+        SnapshotWriter writer = new SnapshotWriter(source, compress);
+        writer.open();
+        writer.write(AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION));
+        writer.close();
+        this.harness.measure("SnapshotReader.view", params(numFlights, compress), VIEWS_PER_RUN,
+                () -> new SnapshotReader(source),
+                reader -> {
+                    for (int i = 0; i < VIEWS_PER_RUN; i++) {
+                        SnapshotView view = reader.view();
+                        int page = view.getNumFlights() / VIEW_PAGE_SIZE / 2;
+                        for (Flight flight : view.getPage(page, VIEW_PAGE_SIZE)) {
+                            Harness.consume(flight.getAirplaneName().length());
+                        }
+                    }
+                });
+    }
+
+    // EFFECTS: times importing a CSV schedule of numRows rows into an empty
+    // airport, per row
+    public void importCsv(int numRows) throws Exception {
+        String source = file("schedule-" + numRows + ".csv");
+        try (PrintWriter writer = new PrintWriter(source, StandardCharsets.UTF_8)) {
+            writer.println("name,classification,type,origin,destination,fuel");
+            for (int i = 0; i < numRows; i++) {
+                writer.println("B737-" + i + ",Commercial," + (i % 2 == 0 ? "A" : "D") + ",YVR,YYZ " + (i % 50)
+                        + "," + (i % 2 == 0 ? String.valueOf(20 + i % 60) : ""));
+            }
+        }
+        this.harness.measure("CsvImporter.importInto", "rows=" + numRows, numRows,
+                () -> new Airport("Import", 100, 4),
+                airport -> Harness.consume(new CsvImporter(source).importInto(airport).getNumImported()));
+    }
+
+    // EFFECTS: saves an airport with numFlights flights and returns its file
+    private String savedAirport(int numFlights) throws Exception {
+        String source = file("read-" + numFlights + ".json");
+        JsonWriter writer = new JsonWriter(source);
+        writer.open();
+        writer.write(AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION));
+        writer.close();
+        return source;
+    }
+
+    // EFFECTS: saves an airport with numFlights flights, gzip compressed if
+    // compress, with the streaming writer and returns its file
+    private String savedAirport(int numFlights, boolean compress) throws Exception {
+        String source = file("read-" + numFlights + "-" + compress + ".json");
+        JsonWriter writer = new JsonWriter(source, true, compress);
+        writer.open();
+        writer.writeStreaming(AirportBenchmarks.buildAirport(numFlights, 4, AirportBenchmarks.LOW_CONGESTION));
+        writer.close();
+        return source;
+    }
+
+    // EFFECTS: returns the params of a benchmark of numFlights flights, compressed
+    // or not
+    private static String params(int numFlights, boolean compress) {
+        return "flights=" + numFlights + (compress ? ",gzip" : "");
+    }
+
+    // EFFECTS: prints the size of file, as a comment of the results table
+    private static void printSize(String file) {
+        File saved = new File(file);
+        System.out.println("# " + saved.getName() + ": " + saved.length() + " bytes");
+    }
+
+    // EFFECTS: returns the path of a temporary file named name
+    private String file(String name) {
+        File file = new File(this.directory, name);
+        file.deleteOnExit();
+        return file.getPath();
+    }
+}
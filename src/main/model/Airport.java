@@ -5,8 +5,10 @@ import persistence.Writable;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -14,15 +16,26 @@ import org.json.JSONObject;
 /*
  * Represents an airport.
  * Stores info related to runways, flights, and parked airplanes
+ * Flights are kept either as objects in a list, or in a columnar FlightStore.
+ * The lanes of flights waiting to be processed refer to flights by their
+ * index in the flights queue.
  */
 public class Airport implements Writable {
     private String name;
     private final int maxCapacity;
     private int currentCapacity;
     private List<Flight> flightsQueue;
+    private FlightStore flightStore; // null unless the flights are stored in columns
+    private FlightLane emergencyLane; // low fuel flights, processed first
+    private FlightLane activeFlights; // other incomplete flights, in processing order
+    private int numActiveFlights;
     private List<Runway> runways;
+    private RunwayAllocator runwayAllocator;
     private Set<String> parkedAirplanes;
-    private List<String> logEntries;
+    private RoundLog roundLog;
+    private SplittableRandom random; // source of all randomness of this airport's simulation
+    private List<AirportListener> listeners;
+    private NameIndex nameIndex;
     private int counter = 1;
 
     /*
@@ -31,18 +44,38 @@ public class Airport implements Writable {
      * EFFECTS: sets the current capacity to maxCapacity
      */
     public Airport(String name, int maxCapacity, int numRunways) {
+        this(name, maxCapacity, numRunways, null);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: maxCapacity and numRunways must be positive integers, flightStore
+     * must be empty or null
+     * EFFECTS: sets the current capacity to maxCapacity, flights added to the
+     * airport are kept in flightStore, or in a list of objects if it is null,
+     * the random source of the airport is given a random seed
+     */
+    public Airport(String name, int maxCapacity, int numRunways, FlightStore flightStore) {
         this.name = name;
         this.maxCapacity = maxCapacity;
         this.currentCapacity = this.maxCapacity;
-        this.flightsQueue = new ArrayList<Flight>();
+        this.flightStore = flightStore;
+        this.flightsQueue = flightStore == null ? new ArrayList<Flight>() : flightStore.asList();
+        this.emergencyLane = new FlightLane();
+        this.activeFlights = new FlightLane();
+        this.numActiveFlights = 0;
         this.parkedAirplanes = new HashSet<String>();
         this.runways = new ArrayList<Runway>();
-        this.logEntries = new ArrayList<>();
+        this.roundLog = new RoundLog(this.flightsQueue);
+        this.random = new SplittableRandom();
+        this.listeners = new ArrayList<>();
+        this.nameIndex = new NameIndex(this.flightsQueue);
         for (int i = 0; i < numRunways; i++) {
             this.runways.add(new Runway());
             EventLog.getInstance().logEvent(
                     new Event("\tNew runway is added to the airport: Runway" + this.runways.get(i).getRunwayID()));
         }
+        this.runwayAllocator = new RunwayAllocator(this.runways);
     }
 
     /*
@@ -50,20 +83,17 @@ public class Airport implements Writable {
      * remaining in the queue of the airport
      */
     public boolean isDone() {
-        for (Flight f : this.flightsQueue) {
-            if (!f.isComplete()) {
-                return false;
-            }
-        }
-        return true;
+        return this.numActiveFlights == 0;
     }
 
     /*
      * MODIFIES: this
-     * EFFECTS: adds the flight to the queue of flights
+     * EFFECTS: adds the flight to the queue of flights, incomplete flights are
+     * also added to the active flights. When the flights are stored in columns,
+     * the flight is bound to its row of the store.
      */
     public void addFlight(Flight flight) {
-        this.flightsQueue.addLast(flight);
+        appendFlight(flight);
         EventLog.getInstance().logEvent(
                 new Event(
                         "\tFlight added to the airport: " + flight.getFlightNumber() + " " + flight.getAirplaneName()));
@@ -71,49 +101,133 @@ public class Airport implements Writable {
 
     /*
      * MODIFIES: this
-     * EFFECTS: clears all the runways, then goes through the queue of flights and
-     * calls processSingleFlight on them
+     * EFFECTS: adds the flights to the queue of flights in the order of the
+     * collection, same as calling addFlight on each of them, except that room
+     * is made for all of them at once and a single event is logged for the
+     * whole batch
+     */
+    public void addFlights(Collection<Flight> flights) {
+        int size = this.flightsQueue.size() + flights.size();
+        if (this.flightStore != null) {
+            this.flightStore.ensureCapacity(size);
+        } else if (this.flightsQueue instanceof ArrayList<Flight> list) {
+            list.ensureCapacity(size);
+        }
+        this.activeFlights.ensureCapacity(this.activeFlights.size() + flights.size());
+        for (Flight flight : flights) {
+            appendFlight(flight);
+        }
+        EventLog.getInstance().logEvent(new Event("\t" + flights.size() + " flights added to the airport"));
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: adds the flight to the queue of flights and, if incomplete, to the
+     * active flights, and tells the listeners
+     */
+    private void appendFlight(Flight flight) {
+        int index = this.flightsQueue.size();
+        this.flightsQueue.addLast(flight);
+        if (!flight.isComplete()) {
+            this.activeFlights.addLast(index);
+            this.numActiveFlights++;
+        }
+        for (AirportListener listener : this.listeners) {
+            listener.flightAdded(this, index, flight);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: goes through the emergency lane and then the rest of the active
+     * flights and calls processSingleFlight on them, then clears all the runways.
+     * Flights sent to the emergency lane during this round are processed first in
+     * the next round, the most recent one first, followed by the earlier
+     * emergencies that are still waiting.
      */
     public void processFlightsOneRound() {
-        logEntries.add(String.format("\n\tRound %d ", counter++));
-        for (int i = 0; i < this.flightsQueue.size(); i++) {
-            Flight f = this.flightsQueue.get(i);
+        this.roundLog.record(counter++, RoundLog.NO_FLIGHT, RoundLog.OUTCOME_ROUND, 0, 0);
+        FlightLane emergencies = this.emergencyLane;
+        FlightLane regulars = this.activeFlights;
+        FlightLane waitingEmergencies = new FlightLane(emergencies.size());
+        this.emergencyLane = new FlightLane();
+        this.activeFlights = new FlightLane(regulars.size());
+
+        processLane(emergencies, waitingEmergencies);
+        processLane(regulars, this.activeFlights);
+        this.emergencyLane.addAll(waitingEmergencies);
+        clearRunways();
+        for (AirportListener listener : this.listeners) {
+            listener.roundProcessed(this, currentRound());
+        }
+    }
+
+    /*
+     * MODIFIES: this, flights in lane and waiting
+     * EFFECTS: calls processSingleFlight on every incomplete flight of the lane
+     * and adds the ones that are still incomplete, and were not sent to the
+     * emergency lane, to waiting
+     */
+    private void processLane(FlightLane lane, FlightLane waiting) {
+        for (int i = 0; i < lane.size(); i++) {
+            int index = lane.get(i);
+            Flight f = this.flightsQueue.get(index);
             if (!f.isComplete()) {
                 try {
-                    processSingleFlight(f);
+                    processSingleFlight(f, index);
                 } catch (OutOfFuelException e) {
-                    f.setComplete();
-                    f.setStatus(Flight.STATUS_CRASHED);
-                    logEntries.add(String.format(
-                            "\t**** Airplane %s ran out of fuel and crashed!",
-                            f.getAirplaneName()));
-                    EventLog.getInstance()
-                            .logEvent(new Event("\tAirplane ran out of fuel and crashed!: " + f.getFlightNumber() + " "
-                                    + f.getAirplaneName()));
+                    crashFlight(f, index);
                 }
+                // a flight sent to the emergency lane in this round is always at its head
+                if (!f.isComplete() && this.emergencyLane.peekFirst() != index) {
+                    waiting.addLast(index);
+                }
+                notifyFlightUpdated(index, f);
             }
         }
-        clearRunways();
     }
 
     /*
-     * REQUIRES: flight must not be null
+     * EFFECTS: tells the listeners that the flight at index may have changed
+     */
+    private void notifyFlightUpdated(int index, Flight flight) {
+        for (AirportListener listener : this.listeners) {
+            listener.flightUpdated(this, index, flight);
+        }
+    }
+
+    /*
+     * REQUIRES: flight must be one of the active flights
+     * MODIFIES: this and flight
+     * EFFECTS: completes the flight with STATUS_CRASHED and logs the crash
+     */
+    private void crashFlight(Flight f, int index) {
+        completeFlight(f);
+        f.setStatus(Flight.STATUS_CRASHED);
+        this.roundLog.record(currentRound(), index, RoundLog.OUTCOME_CRASHED, 0, f.getAirplaneFuel());
+        EventLog.getInstance()
+                .logEvent(new Event("\tAirplane ran out of fuel and crashed!: " + f.getFlightNumber() + " "
+                        + f.getAirplaneName()));
+    }
+
+    /*
+     * REQUIRES: flight must not be null and must be at index in the flights queue
      * MODIFIES: this and flight
      * EFFECTS: Directs the processing of a flight based on its type.
      * If the flight is an arrival, it calls processArrivalFlights, which may stall
      * or land the flight and may throw an OutOfFuelException.
      * If the flight is a departure, it calls processDepartureFlights,
      */
-    private void processSingleFlight(Flight flight) throws OutOfFuelException {
+    private void processSingleFlight(Flight flight, int index) throws OutOfFuelException {
         if (flight.getType() == Flight.TYPE_ARIVAL) {
-            processArrivalFlights(flight);
+            processArrivalFlights(flight, index);
         } else {
-            processDepartureFlights(flight);
+            processDepartureFlights(flight, index);
         }
     }
 
     /*
-     * REQUIRES: flight must not be null
+     * REQUIRES: flight must not be null and must be at index in the flights queue
      * MODIFIES: this and flight
      * EFFECTS: Attempts to process an arrival flight. Updates its status to
      * STATUS_LANDING.
@@ -121,47 +235,42 @@ public class Airport implements Writable {
      * OutOfFuelException if fuel is critical.
      * If room is available, lands the flight.
      */
-    private void processArrivalFlights(Flight flight) throws OutOfFuelException {
+    private void processArrivalFlights(Flight flight, int index) throws OutOfFuelException {
         Runway possibleRunway = findFreeRunway();
-        StringBuilder log = new StringBuilder();
-        log.append(String.format("\tProcessing flight : %s -> ", flight.getAirplaneName()));
         flight.setStatus(Flight.STATUS_LANDING);
         if (this.currentCapacity <= 0 || possibleRunway == null) {
             if (flight.hasNoFuel()) {
                 throw new OutOfFuelException(Integer.toString(flight.getFlightNumber()));
             }
-            log.append("Stalled due to no space or runway. -> ");
-            log.append(String.format("Fuel reduced to %d%%.", flight.getAirplaneFuel()));
-            tryStallFlight(flight);
+            this.roundLog.record(currentRound(), index, RoundLog.OUTCOME_ARRIVAL_STALLED, 0,
+                    flight.getAirplaneFuel());
+            tryStallFlight(flight, index);
         } else {
-            log.append(String.format(("Landing attempt from runway %d -> "), possibleRunway.getRunwayID()));
-            log.append("Landed successfully.");
+            this.roundLog.record(currentRound(), index, RoundLog.OUTCOME_LANDED, possibleRunway.getRunwayID(),
+                    flight.getAirplaneFuel());
             landArival(flight, possibleRunway);
         }
-        this.logEntries.add(log.toString());
     }
 
     /*
-     * REQUIRES: flight must not be null
+     * REQUIRES: flight must not be null and must be at index in the flights queue
      * MODIFIES: this and flight
      * EFFECTS: Attempts to process a departure flight. Updates its status to
      * STATUS_TAKING_OFF.
      * If runway is available, proceeds with takeoff.
      */
-    private void processDepartureFlights(Flight flight) throws OutOfFuelException {
+    private void processDepartureFlights(Flight flight, int index) throws OutOfFuelException {
         Runway possibleRunway = findFreeRunway();
-        StringBuilder log = new StringBuilder();
-        log.append(String.format("\tProcessing flight : %s -> ", flight.getAirplaneName()));
         flight.setStatus(Flight.STATUS_TAKING_OFF);
-        log.append("Takeoff attempt -> ");
         if (possibleRunway == null) {
-            log.append("Stalled due to no free runway.");
-            tryStallFlight(flight);
+            this.roundLog.record(currentRound(), index, RoundLog.OUTCOME_DEPARTURE_STALLED, 0,
+                    flight.getAirplaneFuel());
+            tryStallFlight(flight, index);
         } else {
-            log.append(String.format(("Took off successfully from runway %d ."), possibleRunway.getRunwayID()));
+            this.roundLog.record(currentRound(), index, RoundLog.OUTCOME_TOOK_OFF, possibleRunway.getRunwayID(),
+                    flight.getAirplaneFuel());
             takeoffDeparture(flight, possibleRunway);
         }
-        this.logEntries.add(log.toString());
     }
 
     /*
@@ -176,7 +285,7 @@ public class Airport implements Writable {
         this.currentCapacity = Math.max(0, this.currentCapacity - 1);
         this.parkedAirplanes.add(flight.getAirplaneName());
         flight.setStatus(Flight.STATUS_PARKED);
-        flight.setComplete();
+        completeFlight(flight);
         EventLog.getInstance().logEvent(
                 new Event(
                         "\tFlight landed successfully: " + flight.getFlightNumber() + " " + flight.getAirplaneName()));
@@ -194,27 +303,26 @@ public class Airport implements Writable {
         runway.assignFlight(flight);
         this.currentCapacity = Math.min(this.maxCapacity, this.currentCapacity + 1);
         flight.setStatus(Flight.STATUS_IN_AIR);
-        flight.setComplete();
+        completeFlight(flight);
         EventLog.getInstance().logEvent(new Event(
                 "\tFlight departed successfully: " + flight.getFlightNumber() + " " + flight.getAirplaneName()));
     }
 
     /*
-     * REQUIRES: flight must not be null
+     * REQUIRES: flight must not be null and must be at index in the flights queue
      * MODIFIES: this and flight
      * EFFECTS: stalls the airplane resulting in a 10% reduction in its fuel.
-     * Afterwards, if fuel becomes too low, puts the flight at the begining of the
-     * flights queue for emergency landing/take-off, departure flights will refuel
+     * Afterwards, if fuel becomes too low, puts the flight at the head of the
+     * emergency lane for emergency landing/take-off, departure flights will refuel
      * in this scenario
      */
-    private void tryStallFlight(Flight flight) {
+    private void tryStallFlight(Flight flight, int index) {
         flight.stall();
         if (!flight.canStall()) {
             if (flight.getType() == Flight.TYPE_DEPARTURE) {
                 flight.setAirplaneFuel(Flight.MAX_AIRPLANE_FUEL); // refuel only departure flights
             }
-            this.flightsQueue.remove(flight);
-            this.flightsQueue.addFirst(flight);
+            this.emergencyLane.addFirst(index);
             EventLog.getInstance()
                     .logEvent(new Event("\tFlight was put on the head of the queue: " + flight.getFlightNumber() + " "
                             + flight.getAirplaneName()));
@@ -222,16 +330,53 @@ public class Airport implements Writable {
     }
 
     /*
+     * REQUIRES: flight must be one of the active flights
+     * MODIFIES: this and flight
+     * EFFECTS: marks the flight as complete and decrements the number of active
+     * flights
+     */
+    private void completeFlight(Flight flight) {
+        if (!flight.isComplete()) {
+            flight.setComplete();
+            this.numActiveFlights--;
+        }
+    }
+
+    /*
+     * REQUIRES: 0 <= index < getFlightsQueue().size(), status is one of the
+     * STATUS_ constants of Flight
+     * MODIFIES: this and the flight at index
+     * EFFECTS: sets the status and fuel of the flight at index, e.g. when
+     * recovering the airport from a journal; completes the flight if complete is
+     * true, a complete flight stays complete
+     */
+    public void restoreFlight(int index, int status, int fuel, boolean complete) {
+        Flight flight = this.flightsQueue.get(index);
+        flight.setStatus(status);
+        flight.setAirplaneFuel(fuel);
+        if (complete) {
+            completeFlight(flight);
+        }
+        notifyFlightUpdated(index, flight);
+    }
+
+    /*
+     * REQUIRES: round >= 0, currentCapacity >= 0
      * MODIFIES: this
-     * EFFECTS: Frees up all runways, adds the completed flight to completed flights
-     * list and removes it from flights queue
+     * EFFECTS: sets the airport to the state at the end of round, with
+     * currentCapacity, e.g. when recovering the airport from a journal
+     */
+    public void restoreRound(int round, int currentCapacity) {
+        this.counter = round + 1;
+        this.currentCapacity = currentCapacity;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Frees up all runways at once
      */
     private void clearRunways() {
-        for (Runway rw : this.runways) {
-            if (rw.isOccupied()) {
-                rw.freeRunway();
-            }
-        }
+        this.runwayAllocator.releaseAll();
     }
 
     /*
@@ -239,24 +384,59 @@ public class Airport implements Writable {
      * is empty
      */
     private Runway findFreeRunway() {
-        for (Runway rw : this.runways) {
-            if (!rw.isOccupied()) {
-                return rw;
-            }
-        }
-        return null;
+        return this.runwayAllocator.nextFreeRunway();
+    }
+
+    /*
+     * EFFECTS: returns the number of the round that is being processed, or of
+     * the last round processed; 0 if no round has been processed yet
+     */
+    public int currentRound() {
+        return this.counter - 1;
     }
 
     /*
      * MODIFIES: this
-     * EFFECTS: will return the list of logs and clears them
+     * EFFECTS: will return the text of the round log entries and clears them
      */
     public List<String> flushLogEntries() {
-        List<String> logsToReturn = new ArrayList<>(this.logEntries);
-        this.logEntries = new ArrayList<>();
+        List<String> logsToReturn = this.roundLog.renderAll();
+        this.roundLog.clear();
         return logsToReturn;
     }
 
+    /*
+     * REQUIRES: the airplane names of the flights of the airport were not
+     * changed after they were added
+     * EFFECTS: returns the flights whose airplane name contains part, ignoring
+     * case, in the order of the queue; the names are looked up in an index of
+     * their trigrams instead of going through every flight
+     */
+    public List<Flight> searchByAirplaneName(String part) {
+        return this.nameIndex.flightsAt(this.nameIndex.search(part));
+    }
+
+    /*
+     * REQUIRES: the airplane names of the flights of the airport were not
+     * changed after they were added
+     * EFFECTS: returns the indices in the flights queue of the flights whose
+     * airplane name contains part, ignoring case, in increasing order; looked
+     * up in the same index as searchByAirplaneName
+     */
+    public int[] searchIndicesByAirplaneName(String part) {
+        return this.nameIndex.search(part);
+    }
+
+    /*
+     * REQUIRES: the airplane names of the flights of the airport were not
+     * changed after they were added
+     * EFFECTS: returns the flights whose airplane name is name, ignoring case,
+     * in the order of the queue
+     */
+    public List<Flight> findByAirplaneName(String name) {
+        return this.nameIndex.flightsAt(this.nameIndex.find(name));
+    }
+
     /**
      * EFFECTS: Prints the event log on the console when user quits the application
      */
@@ -277,6 +457,10 @@ public class Airport implements Writable {
         return this.name;
     }
 
+    public int getMaxCapacity() {
+        return this.maxCapacity;
+    }
+
     public int getCurrentCapacity() {
         return this.currentCapacity;
     }
@@ -293,6 +477,82 @@ public class Airport implements Writable {
         return this.flightsQueue;
     }
 
+    public RoundLog getRoundLog() {
+        return this.roundLog;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: turns recording of the round log on or off
+     */
+    public void setRoundLogEnabled(boolean enabled) {
+        this.roundLog.setEnabled(enabled);
+    }
+
+    public FlightStore getFlightStore() {
+        return this.flightStore;
+    }
+
+    /*
+     * EFFECTS: returns the flights of the emergency lane, in the order they will
+     * be processed
+     */
+    public List<Flight> getEmergencyLane() {
+        List<Flight> emergencies = new ArrayList<>(this.emergencyLane.size());
+        for (int i = 0; i < this.emergencyLane.size(); i++) {
+            emergencies.add(this.flightsQueue.get(this.emergencyLane.get(i)));
+        }
+        return emergencies;
+    }
+
+    public int getNumActiveFlights() {
+        return this.numActiveFlights;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: adds a listener that is told about every later change of the
+     * airport
+     */
+    public void addListener(AirportListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: removes the listener, if it was added
+     */
+    public void removeListener(AirportListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /*
+     * EFFECTS: returns the random source of the airport, to be used for flights
+     * created for it and anything else random in its simulation; it must only be
+     * used by the thread that runs the airport
+     */
+    public SplittableRandom getRandom() {
+        return this.random;
+    }
+
+    /*
+     * REQUIRES: random must not be null
+     * MODIFIES: this
+     * EFFECTS: replaces the random source of the airport
+     */
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: seeds the random source of the airport, so the same seed and the
+     * same input reproduce the same simulation
+     */
+    public void setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
     /*
      * EFFECTS: Returns a JSON object representing the airport, including its name,
      * maximum capacity, current capacity, number of runways, and the lists of
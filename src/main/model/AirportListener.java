@@ -0,0 +1,25 @@
+package model;
+
+/*
+ * Represents a listener that is told about every change of an airport, e.g.
+ * to record the changes in a journal.
+ * Listeners are called on the thread that changes the airport.
+ */
+public interface AirportListener {
+    /*
+     * EFFECTS: called after flight was added to airport at index of its flights
+     * queue
+     */
+    void flightAdded(Airport airport, int index, Flight flight);
+
+    /*
+     * EFFECTS: called after the status, fuel or completion of the flight at index
+     * of the flights queue of airport may have changed
+     */
+    void flightUpdated(Airport airport, int index, Flight flight);
+
+    /*
+     * EFFECTS: called after airport finished processing round
+     */
+    void roundProcessed(Airport airport, int round);
+}
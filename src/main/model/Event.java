@@ -1,38 +1,71 @@
 package model;
 
-import java.util.Calendar;
 import java.util.Date;
 
 /**
  * Referenced from the AlarmSystem
  * https://github.students.cs.ubc.ca/CPSC210/AlarmSystem
  * Represents an airport event.
+ * The time stamp of an event is read from the event clock, which is the
+ * wall clock unless another clock is set.
  */
 public class Event {
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
+    private static volatile EventClock clock = EventClock.WALL;
+    private final long timestamp;
+    private Date dateLogged; // created on first use
     private String description;
 
     /**
      * Creates an event with the given description
-     * and the current date/time stamp.
+     * and the current date/time stamp of the event clock.
      * 
      * @param description a description of the event
      */
     public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
+        timestamp = clock.currentTimeMillis();
         this.description = description;
     }
 
+    /**
+     * Sets the clock used to time stamp new events.
+     *
+     * @param eventClock the clock to read the time from
+     */
+    public static void setClock(EventClock eventClock) {
+        clock = eventClock;
+    }
+
+    /**
+     * Gets the clock used to time stamp new events.
+     *
+     * @return the event clock
+     */
+    public static EventClock getClock() {
+        return clock;
+    }
+
     /**
      * Gets the date of this event (includes time).
      * 
      * @return the date of the event
      */
     public Date getDate() {
+        if (dateLogged == null) {
+            dateLogged = new Date(timestamp);
+        }
         return dateLogged;
     }
 
+    /**
+     * Gets the time stamp of this event.
+     *
+     * @return the time of the event in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     /**
      * Gets the description of this event.
      * 
@@ -54,17 +87,17 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
+        return (this.timestamp == otherEvent.timestamp
                 && this.description.equals(otherEvent.description));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(timestamp) + description.hashCode());
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + description;
     }
 }
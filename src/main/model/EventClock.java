@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * Represents the source of the time stamps of events.
+ * A clock returns the current time in milliseconds since the epoch.
+ */
+@FunctionalInterface
+public interface EventClock {
+    /** wall clock time, may jump when the system time is changed */
+    EventClock WALL = System::currentTimeMillis;
+
+    /**
+     * Gets the current time of this clock.
+     *
+     * @return the current time in milliseconds since the epoch
+     */
+    long currentTimeMillis();
+
+    /**
+     * Creates a clock that starts at the current wall clock time and then only
+     * moves forward, even if the system time is changed.
+     *
+     * @return a monotonic clock
+     */
+    static EventClock monotonic() {
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        return () -> startMillis + (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -1,8 +1,18 @@
 package model;
 
+import model.logging.EventSink;
+
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Referenced from the AlarmSystem
@@ -11,54 +21,337 @@ import java.util.Iterator;
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
+ * Events are kept in a bounded ring buffer that any number of threads can
+ * append to at once. When the buffer is full, the overflow policy decides
+ * whether the oldest events are overwritten or the new ones are dropped.
+ * An optional background drainer hands the logged events in batches to
+ * event sinks.
  */
 public class EventLog implements Iterable<Event> {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * What to do with a new event when the log is full. DROP_NEWEST only
+     * applies while a drainer is running; without one nothing would ever make
+     * room again, so the oldest events are overwritten instead.
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST, DROP_NEWEST
+    }
+
     /** the only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    private static final EventLog theLog = new EventLog();
+    private volatile Ring ring;
+    private volatile boolean draining;
+    private final ReadWriteLock swapLock; // appends share it, replacing the ring takes it alone
+    private final Object drainLock;
+    private ScheduledExecutorService drainer;
+    private List<EventSink> sinks;
 
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
      */
     private EventLog() {
-        events = new ArrayList<Event>();
+        ring = new Ring(DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST);
+        swapLock = new ReentrantReadWriteLock();
+        drainLock = new Object();
+        sinks = new ArrayList<>();
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog.
      * (Singleton Design Pattern)
-     * 
+     *
      * @return instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
-
         return theLog;
     }
 
     /**
-     * Adds an event to the event log.
-     * 
+     * Adds an event to the event log. Only waits while the log is being
+     * cleared or configured; when the log is full the overflow policy decides
+     * which event is lost.
+     *
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        swapLock.readLock().lock();
+        try {
+            ring.append(e, draining);
+        } finally {
+            swapLock.readLock().unlock();
+        }
     }
 
     /**
-     * Clears the event log and logs the event.
+     * Clears the event log and logs the event. Events that were not drained
+     * yet are handed to the sinks first.
      */
     public void clear() {
-        events.clear();
+        synchronized (drainLock) {
+            replaceRing(ring.capacity(), ring.policy);
+        }
         logEvent(new Event("Event log cleared."));
     }
 
+    /**
+     * Replaces the log with an empty one of the given size and policy.
+     *
+     * @param capacity the number of events kept, rounded up to a power of two
+     * @param policy   what to do with new events when the log is full
+     */
+    public void configure(int capacity, OverflowPolicy policy) {
+        synchronized (drainLock) {
+            replaceRing(capacity, policy);
+        }
+    }
+
+    /**
+     * Hands the events that were not drained yet to the sinks and replaces the
+     * ring with an empty one. No event is appended in between.
+     * Must be called while holding drainLock.
+     */
+    private void replaceRing(int capacity, OverflowPolicy policy) {
+        swapLock.writeLock().lock();
+        try {
+            drainToSinks();
+            ring = new Ring(capacity, policy);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a background thread that hands new events to the sinks every
+     * periodMillis milliseconds. A drainer that is already running is stopped
+     * first.
+     *
+     * @param periodMillis the delay between two batches
+     * @param eventSinks   where the batches are sent
+     */
+    public void startDrainer(long periodMillis, EventSink... eventSinks) {
+        stopDrainer();
+        synchronized (drainLock) {
+            sinks = new ArrayList<>(Arrays.asList(eventSinks));
+            drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "event-log-drainer");
+                t.setDaemon(true);
+                return t;
+            });
+            drainer.scheduleWithFixedDelay(this::flush, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+            swapLock.writeLock().lock();
+            try {
+                ring.skipOverwritten();
+                draining = true;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Stops the background drainer, hands the remaining events to the sinks
+     * and closes them. Does nothing if no drainer is running.
+     */
+    public void stopDrainer() {
+        ScheduledExecutorService running;
+        synchronized (drainLock) {
+            running = drainer;
+            drainer = null;
+            draining = false;
+        }
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            running.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (drainLock) {
+            drainToSinks();
+            for (EventSink sink : sinks) {
+                sink.close();
+            }
+            sinks = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Hands the events logged since the last batch to the sinks now.
+     */
+    public void flush() {
+        synchronized (drainLock) {
+            drainToSinks();
+        }
+    }
+
+    /**
+     * Hands the next batch of events to every sink.
+     * Must be called while holding drainLock.
+     */
+    private void drainToSinks() {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        List<Event> batch = ring.drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (EventSink sink : sinks) {
+            try {
+                sink.accept(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return ring.capacity();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return ring.policy;
+    }
+
+    /**
+     * Gets the number of events that were lost because the log was full since
+     * it was last cleared or configured.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return ring.lost();
+    }
+
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        return ring.snapshot().iterator();
+    }
+
+    /**
+     * An event together with the sequence number it was logged with.
+     */
+    private static final class Entry {
+        private final long seq;
+        private final Event event;
+
+        private Entry(long seq, Event event) {
+            this.seq = seq;
+            this.event = event;
+        }
+    }
+
+    /**
+     * A fixed size ring buffer of events. Sequence numbers are claimed with an
+     * atomic counter so appending never takes a lock.
+     */
+    private static final class Ring {
+        private final AtomicReferenceArray<Entry> slots;
+        private final int mask;
+        private final OverflowPolicy policy;
+        private final AtomicLong next; // sequence number of the next event
+        private volatile long drained; // sequence number of the next event to drain
+        private final AtomicLong lost; // events lost under DROP_NEWEST
+
+        private Ring(int capacity, OverflowPolicy policy) {
+            int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = slots.length() - 1;
+            this.policy = policy;
+            this.next = new AtomicLong();
+            this.drained = 0;
+            this.lost = new AtomicLong();
+        }
+
+        private int capacity() {
+            return slots.length();
+        }
+
+        /**
+         * Returns the number of events that were overwritten or rejected.
+         */
+        private long lost() {
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                return Math.max(0, next.get() - capacity());
+            }
+            return lost.get();
+        }
+
+        /**
+         * Appends the event. If the buffer is full, drops it when the policy is
+         * DROP_NEWEST and a drainer is running, and overwrites the oldest event
+         * otherwise.
+         */
+        private void append(Event e, boolean draining) {
+            long seq;
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                seq = next.getAndIncrement();
+            } else if (!draining) {
+                seq = next.getAndIncrement();
+                if (seq >= capacity()) {
+                    lost.incrementAndGet();
+                }
+            } else {
+                do {
+                    seq = next.get();
+                    if (seq - drained >= capacity()) {
+                        lost.incrementAndGet();
+                        return;
+                    }
+                } while (!next.compareAndSet(seq, seq + 1));
+            }
+            slots.set((int) (seq & mask), new Entry(seq, e));
+        }
+
+        /**
+         * Moves the drain position past the events that were already
+         * overwritten, so that a drainer starting now does not see a full buffer.
+         */
+        private void skipOverwritten() {
+            drained = Math.max(drained, next.get() - capacity());
+        }
+
+        /**
+         * Returns the events still in the buffer, oldest first.
+         */
+        private List<Event> snapshot() {
+            long end = next.get();
+            long start = Math.max(0, end - capacity());
+            List<Event> events = new ArrayList<>((int) (end - start));
+            for (long seq = start; seq < end; seq++) {
+                Entry entry = slots.get((int) (seq & mask));
+                if (entry != null && entry.seq == seq) {
+                    events.add(entry.event);
+                }
+            }
+            return events;
+        }
+
+        /**
+         * Returns the events logged since the last drain, oldest first. Stops at
+         * an event that is claimed but not written yet, skips overwritten ones.
+         */
+        private List<Event> drain() {
+            long end = next.get();
+            long seq = Math.max(drained, end - capacity());
+            List<Event> batch = new ArrayList<>();
+            while (seq < end) {
+                Entry entry = slots.get((int) (seq & mask));
+                if (entry == null || entry.seq < seq) {
+                    break;
+                }
+                if (entry.seq == seq) {
+                    batch.add(entry.event);
+                }
+                seq++;
+            }
+            drained = seq;
+            return batch;
+        }
     }
 }
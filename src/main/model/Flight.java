@@ -1,5 +1,9 @@
 package model;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
 import org.json.JSONObject;
 
 import persistence.Writable;
@@ -7,6 +11,8 @@ import persistence.Writable;
 /* 
  * Represents and stores info of a flight and the airplane assigned to the flight.
  * Each flight has a unique flightNumber 
+ * A flight that is bound to a row of a FlightStore keeps no info itself, it
+ * reads and writes the row of the store instead.
 */
 public class Flight implements Writable {
     private int flightNumber; // Unique
@@ -18,7 +24,9 @@ public class Flight implements Writable {
     private String destination;
     private String classification;
     private int status;
-    private static int lastFlightNumber = 100;
+    private FlightStore store;
+    private int row;
+    private static final AtomicInteger lastFlightNumber = new AtomicInteger(100);
     public static final int MAX_AIRPLANE_FUEL = 100;
     public static final int STATUS_IN_AIR = 1;
     public static final int STATUS_LANDING = 2;
@@ -34,26 +42,92 @@ public class Flight implements Writable {
      * EFFECTS: sets a unique flightNumber for this flight
      * for departure flights sets airplane fuel to 100%, for arrival flights sets
      * fuel
-     * to a random number between [20%,79%]
+     * to a random number between [20%,79%] drawn from the random generator of the
+     * current thread
      */
     public Flight(String airplaneName, String classification, int type) {
-        this.flightNumber = lastFlightNumber++; // increments for the next time
+        this(airplaneName, classification, type, ThreadLocalRandom.current());
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: type must be equivalent to TYPE_ARIVAL or TYPE_DEPARTURE, random
+     * must not be null
+     * EFFECTS: same as the constructor above, but the fuel of arrival flights is
+     * drawn from random, so the same seed gives the same fuel levels
+     */
+    public Flight(String airplaneName, String classification, int type, RandomGenerator random) {
+        this(reserveFlightNumbers(1), airplaneName, classification, type,
+                type == TYPE_ARIVAL ? generateRandomArrivalFuel(random) : MAX_AIRPLANE_FUEL);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: type must be equivalent to TYPE_ARIVAL or TYPE_DEPARTURE,
+     * flightNumber must have been reserved with reserveFlightNumbers (or
+     * be the number a flight was saved with, for a read-only copy)
+     * EFFECTS: creates a flight with the given flight number and fuel, e.g. to
+     * restore a saved flight; nothing is drawn from any random generator, so
+     * flights can be created on many threads at once. Throws
+     * IllegalArgumentException if airplaneFuel is not between 0 and
+     * MAX_AIRPLANE_FUEL
+     */
+    public Flight(int flightNumber, String airplaneName, String classification, int type, int airplaneFuel) {
+        if (airplaneFuel < 0 || airplaneFuel > MAX_AIRPLANE_FUEL) {
+            throw new IllegalArgumentException("Fuel must be between 0 and " + MAX_AIRPLANE_FUEL + ": "
+                    + airplaneFuel);
+        }
+        this.flightNumber = flightNumber;
         this.airplaneName = airplaneName;
         this.type = type;
         this.isComplete = false;
         this.classification = classification;
         this.status = type == TYPE_ARIVAL ? STATUS_IN_AIR : STATUS_PARKED;
-        this.airplaneFuel = type == TYPE_ARIVAL ? generateRandomArrivalFuel() : MAX_AIRPLANE_FUEL;
+        this.airplaneFuel = airplaneFuel;
         this.origin = "No origin set";
         this.destination = "No destination set";
     }
 
     /*
+     * REQUIRES: count >= 0
+     * EFFECTS: reserves count consecutive flight numbers that no other flight
+     * will get and returns the first one
+     */
+    public static int reserveFlightNumbers(int count) {
+        return lastFlightNumber.getAndAdd(count);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: 0 <= row < store.size()
+     * EFFECTS: creates a view of the flight stored in the row of the store
+     */
+    Flight(FlightStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    /*
+     * REQUIRES: 0 <= row < store.size() and the row must hold the info of this
+     * flight
      * MODIFIES: this
+     * EFFECTS: binds this flight to the row of the store and drops its own info
+     */
+    void bind(FlightStore store, int row) {
+        this.store = store;
+        this.row = row;
+        this.airplaneName = null;
+        this.classification = null;
+        this.origin = null;
+        this.destination = null;
+    }
+
+    /*
+     * MODIFIES: random
      * EFFECTS: it randomly chooses a fuel level for an airplane between [20%,79%]
      */
-    private int generateRandomArrivalFuel() {
-        return (int) Math.floor(Math.random() * 0.6 * 100 + 20);
+    private static int generateRandomArrivalFuel(RandomGenerator random) {
+        return random.nextInt(20, 80);
     }
 
     /*
@@ -62,7 +136,7 @@ public class Flight implements Writable {
      * will not reduce the fuel amount bellow 0%
      */
     public void stall() {
-        this.airplaneFuel = Math.max(0, this.airplaneFuel - 10);
+        setFuel(Math.max(0, getAirplaneFuel() - 10));
     }
 
     /*
@@ -71,10 +145,10 @@ public class Flight implements Writable {
      * return true
      */
     public boolean canStall() {
-        if (this.type == TYPE_ARIVAL) {
-            return this.airplaneFuel > 10;
+        if (getType() == TYPE_ARIVAL) {
+            return getAirplaneFuel() > 10;
         } else {
-            return this.airplaneFuel > 80;
+            return getAirplaneFuel() > 80;
         }
     }
 
@@ -82,7 +156,7 @@ public class Flight implements Writable {
      * EFFECTS: Returns true if the plane is out of fuel and false otherwise.
      */
     public boolean hasNoFuel() {
-        return this.airplaneFuel == 0;
+        return getAirplaneFuel() == 0;
     }
 
     // ---------- GETTERS & SETTERS ---------- //
@@ -91,7 +165,7 @@ public class Flight implements Writable {
      * EFFECTS: returns string equivalent of current flight status
      */
     public String getPrintableStatus() {
-        switch (this.status) {
+        switch (getStatus()) {
             case STATUS_IN_AIR:
                 return "In Air";
             case STATUS_PARKED:
@@ -113,65 +187,110 @@ public class Flight implements Writable {
      * EFFECTS: sets current flight status
      */
     public void setStatus(int status) {
-        this.status = status;
+        if (this.store != null) {
+            this.store.setStatus(this.row, status);
+        } else {
+            this.status = status;
+        }
+    }
+
+    public int getStatus() {
+        return this.store != null ? this.store.getStatus(this.row) : this.status;
     }
 
     public int getType() {
-        return this.type;
+        return this.store != null ? this.store.getType(this.row) : this.type;
     }
 
     public boolean isComplete() {
-        return this.isComplete;
+        return this.store != null ? this.store.isComplete(this.row) : this.isComplete;
     }
 
     public void setComplete() {
-        this.isComplete = true;
+        if (this.store != null) {
+            this.store.setComplete(this.row);
+        } else {
+            this.isComplete = true;
+        }
     }
 
     public String getClassification() {
-        return this.classification;
+        return this.store != null ? this.store.getClassification(this.row) : this.classification;
     }
 
     public void setClassification(String classification) {
-        this.classification = classification;
+        if (this.store != null) {
+            this.store.setClassification(this.row, classification);
+        } else {
+            this.classification = classification;
+        }
     }
 
     public int getFlightNumber() {
-        return this.flightNumber;
+        return this.store != null ? this.store.getFlightNumber(this.row) : this.flightNumber;
     }
 
     public String getAirplaneName() {
-        return this.airplaneName;
+        return this.store != null ? this.store.getAirplaneName(this.row) : this.airplaneName;
     }
 
     public void setAirplaneName(String airplaneID) {
-        this.airplaneName = airplaneID;
+        if (this.store != null) {
+            this.store.setAirplaneName(this.row, airplaneID);
+        } else {
+            this.airplaneName = airplaneID;
+        }
     }
 
     public int getAirplaneFuel() {
-        return this.airplaneFuel;
+        return this.store != null ? this.store.getFuel(this.row) : this.airplaneFuel;
     }
 
     public void setAirplaneFuel(int fuel) {
         if (fuel >= 0 && fuel <= 100) {
+            setFuel(fuel);
+        }
+    }
+
+    /*
+     * REQUIRES: 0 <= fuel <= MAX_AIRPLANE_FUEL
+     * MODIFIES: this
+     * EFFECTS: sets the airplane fuel
+     */
+    private void setFuel(int fuel) {
+        if (this.store != null) {
+            this.store.setFuel(this.row, fuel);
+        } else {
             this.airplaneFuel = fuel;
         }
     }
 
     public String getOrigin() {
-        return this.origin;
+        return this.store != null ? this.store.getOrigin(this.row) : this.origin;
     }
 
     public void setOrigin(String origin) {
-        this.origin = origin;
+        if (this.store != null) {
+            this.store.setOrigin(this.row, origin);
+        } else {
+            this.origin = origin;
+        }
     }
 
     public String getDestination() {
-        return this.destination;
+        return this.store != null ? this.store.getDestination(this.row) : this.destination;
     }
 
     public void setDestination(String destination) {
-        this.destination = destination;
+        if (this.store != null) {
+            this.store.setDestination(this.row, destination);
+        } else {
+            this.destination = destination;
+        }
+    }
+
+    public FlightStore getStore() {
+        return this.store;
     }
 
     /*
@@ -181,16 +300,37 @@ public class Flight implements Writable {
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
-        json.put("airplaneName", airplaneName);
-        json.put("flightNumber", flightNumber);
-        json.put("type", type);
-        json.put("classification", classification);
-        json.put("origin", origin);
-        json.put("status", status);
-        json.put("destination", destination);
-        json.put("isComplete", isComplete);
-        json.put("airplaneFuel", airplaneFuel);
+        json.put("airplaneName", getAirplaneName());
+        json.put("flightNumber", getFlightNumber());
+        json.put("type", getType());
+        json.put("classification", getClassification());
+        json.put("origin", getOrigin());
+        json.put("status", getStatus());
+        json.put("destination", getDestination());
+        json.put("isComplete", isComplete());
+        json.put("airplaneFuel", getAirplaneFuel());
         return json;
     }
 
+    /*
+     * EFFECTS: returns true if other is this flight, or a view of the same row
+     * of the same store
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Flight) || this.store == null) {
+            return false;
+        }
+        Flight otherFlight = (Flight) other;
+        return this.store == otherFlight.store && this.row == otherFlight.row;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.store != null ? System.identityHashCode(this.store) * 31 + this.row : super.hashCode();
+    }
+
 }
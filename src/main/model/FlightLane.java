@@ -0,0 +1,126 @@
+package model;
+
+/*
+ * Represents a lane of flights waiting to be processed by an airport.
+ * Flights are kept as their indices in the flights queue of the airport, in a
+ * growable ring of ints, so flights can be added to either end in O(1).
+ */
+public class FlightLane {
+    private static final int DEFAULT_CAPACITY = 16;
+    public static final int NONE = -1;
+
+    private int[] indices;
+    private int head;
+    private int size;
+
+    /*
+     * Constructor
+     * EFFECTS: creates an empty lane with room for DEFAULT_CAPACITY flights
+     */
+    public FlightLane() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: initialCapacity must be a non-negative integer
+     * EFFECTS: creates an empty lane with room for initialCapacity flights
+     */
+    public FlightLane(int initialCapacity) {
+        this.indices = new int[Math.max(1, initialCapacity)];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: puts the flight index at the head of the lane
+     */
+    public void addFirst(int index) {
+        if (this.size == this.indices.length) {
+            grow();
+        }
+        this.head = (this.head - 1 + this.indices.length) % this.indices.length;
+        this.indices[this.head] = index;
+        this.size++;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: puts the flight index at the end of the lane
+     */
+    public void addLast(int index) {
+        if (this.size == this.indices.length) {
+            grow();
+        }
+        this.indices[(this.head + this.size) % this.indices.length] = index;
+        this.size++;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: puts all the flight indices of other at the end of the lane, in
+     * order
+     */
+    public void addAll(FlightLane other) {
+        for (int i = 0; i < other.size(); i++) {
+            addLast(other.get(i));
+        }
+    }
+
+    /*
+     * REQUIRES: 0 <= i < size()
+     * EFFECTS: returns the i-th flight index from the head of the lane
+     */
+    public int get(int i) {
+        return this.indices[(this.head + i) % this.indices.length];
+    }
+
+    /*
+     * EFFECTS: returns the flight index at the head of the lane, or NONE if the
+     * lane is empty
+     */
+    public int peekFirst() {
+        return this.size == 0 ? NONE : this.indices[this.head];
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: makes room for at least capacity flights
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > this.indices.length) {
+            resize(capacity);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: doubles the room for flights, moving the head to the start
+     */
+    private void grow() {
+        resize(this.indices.length * 2);
+    }
+
+    /*
+     * REQUIRES: capacity >= size()
+     * MODIFIES: this
+     * EFFECTS: makes room for capacity flights, moving the head to the start
+     */
+    private void resize(int capacity) {
+        int[] bigger = new int[capacity];
+        for (int i = 0; i < this.size; i++) {
+            bigger[i] = get(i);
+        }
+        this.indices = bigger;
+        this.head = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
@@ -0,0 +1,254 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Represents a columnar store of flights.
+ * Every field of a flight is kept in its own primitive array, strings are
+ * replaced by codes of a dictionary shared by all flights, so a stored flight
+ * costs a few dozen bytes and a scan over a column touches contiguous memory.
+ * Flights read from the store are lightweight views of a row.
+ */
+public class FlightStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int[] flightNumbers;
+    private byte[] fuels;
+    private byte[] types;
+    private byte[] statuses;
+    private boolean[] completes;
+    private int[] airplaneNames;
+    private int[] classifications;
+    private int[] origins;
+    private int[] destinations;
+    private int size;
+    private final List<String> strings; // dictionary code -> string
+    private final Map<String, Integer> codes; // string -> dictionary code
+    private final List<Flight> flightsView;
+
+    /*
+     * Constructor
+     * EFFECTS: creates an empty store with room for DEFAULT_CAPACITY flights
+     */
+    public FlightStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: initialCapacity must be a positive integer
+     * EFFECTS: creates an empty store with room for initialCapacity flights
+     */
+    public FlightStore(int initialCapacity) {
+        this.flightNumbers = new int[initialCapacity];
+        this.fuels = new byte[initialCapacity];
+        this.types = new byte[initialCapacity];
+        this.statuses = new byte[initialCapacity];
+        this.completes = new boolean[initialCapacity];
+        this.airplaneNames = new int[initialCapacity];
+        this.classifications = new int[initialCapacity];
+        this.origins = new int[initialCapacity];
+        this.destinations = new int[initialCapacity];
+        this.size = 0;
+        this.strings = new ArrayList<>();
+        this.codes = new HashMap<>();
+        this.flightsView = new FlightsView();
+    }
+
+    /*
+     * REQUIRES: flight must not be null and must not be stored in a store yet
+     * MODIFIES: this and flight
+     * EFFECTS: copies the flight into a new row of the store and binds the flight
+     * to that row, so it reads and writes the store from now on; returns the row
+     */
+    public int add(Flight flight) {
+        if (this.size == this.flightNumbers.length) {
+            grow();
+        }
+        int row = this.size++;
+        this.flightNumbers[row] = flight.getFlightNumber();
+        this.fuels[row] = (byte) flight.getAirplaneFuel();
+        this.types[row] = (byte) flight.getType();
+        this.statuses[row] = (byte) flight.getStatus();
+        this.completes[row] = flight.isComplete();
+        this.airplaneNames[row] = encode(flight.getAirplaneName());
+        this.classifications[row] = encode(flight.getClassification());
+        this.origins[row] = encode(flight.getOrigin());
+        this.destinations[row] = encode(flight.getDestination());
+        flight.bind(this, row);
+        return row;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: makes room for at least capacity flights
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > this.flightNumbers.length) {
+            resize(capacity);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: doubles the room for flights
+     */
+    private void grow() {
+        resize(Math.max(1, this.flightNumbers.length * 2));
+    }
+
+    /*
+     * REQUIRES: capacity >= size()
+     * MODIFIES: this
+     * EFFECTS: makes room for capacity flights
+     */
+    private void resize(int capacity) {
+        this.flightNumbers = Arrays.copyOf(this.flightNumbers, capacity);
+        this.fuels = Arrays.copyOf(this.fuels, capacity);
+        this.types = Arrays.copyOf(this.types, capacity);
+        this.statuses = Arrays.copyOf(this.statuses, capacity);
+        this.completes = Arrays.copyOf(this.completes, capacity);
+        this.airplaneNames = Arrays.copyOf(this.airplaneNames, capacity);
+        this.classifications = Arrays.copyOf(this.classifications, capacity);
+        this.origins = Arrays.copyOf(this.origins, capacity);
+        this.destinations = Arrays.copyOf(this.destinations, capacity);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: returns the dictionary code of the string, adding it to the
+     * dictionary if it is new
+     */
+    private int encode(String value) {
+        Integer code = this.codes.get(value);
+        if (code == null) {
+            code = this.strings.size();
+            this.strings.add(value);
+            this.codes.put(value, code);
+        }
+        return code;
+    }
+
+    /*
+     * REQUIRES: 0 <= row < size()
+     * EFFECTS: returns a view of the flight stored in the row
+     */
+    public Flight get(int row) {
+        return new Flight(this, row);
+    }
+
+    /*
+     * EFFECTS: returns a list view of the stored flights; adding a flight to the
+     * list adds it to the store
+     */
+    public List<Flight> asList() {
+        return this.flightsView;
+    }
+
+    /*
+     * EFFECTS: returns the number of distinct strings in the dictionary
+     */
+    public int getDictionarySize() {
+        return this.strings.size();
+    }
+
+    // ---------- COLUMN ACCESS (REQUIRES: 0 <= row < size()) ---------- //
+
+    public int size() {
+        return this.size;
+    }
+
+    int getFlightNumber(int row) {
+        return this.flightNumbers[row];
+    }
+
+    int getFuel(int row) {
+        return this.fuels[row];
+    }
+
+    void setFuel(int row, int fuel) {
+        this.fuels[row] = (byte) fuel;
+    }
+
+    int getType(int row) {
+        return this.types[row];
+    }
+
+    int getStatus(int row) {
+        return this.statuses[row];
+    }
+
+    void setStatus(int row, int status) {
+        this.statuses[row] = (byte) status;
+    }
+
+    boolean isComplete(int row) {
+        return this.completes[row];
+    }
+
+    void setComplete(int row) {
+        this.completes[row] = true;
+    }
+
+    String getAirplaneName(int row) {
+        return this.strings.get(this.airplaneNames[row]);
+    }
+
+    void setAirplaneName(int row, String value) {
+        this.airplaneNames[row] = encode(value);
+    }
+
+    String getClassification(int row) {
+        return this.strings.get(this.classifications[row]);
+    }
+
+    void setClassification(int row, String value) {
+        this.classifications[row] = encode(value);
+    }
+
+    String getOrigin(int row) {
+        return this.strings.get(this.origins[row]);
+    }
+
+    void setOrigin(int row, String value) {
+        this.origins[row] = encode(value);
+    }
+
+    String getDestination(int row) {
+        return this.strings.get(this.destinations[row]);
+    }
+
+    void setDestination(int row, String value) {
+        this.destinations[row] = encode(value);
+    }
+
+    /*
+     * Represents the stored flights as a list of views.
+     */
+    private class FlightsView extends AbstractList<Flight> {
+        @Override
+        public Flight get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return FlightStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean add(Flight flight) {
+            FlightStore.this.add(flight);
+            modCount++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.util.Arrays;
+
+/*
+ * Represents a growable list of ints, added at its end, such as the posting
+ * lists of the name index. Unlike a List<Integer>, the values are not boxed.
+ */
+final class IntList {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+    private int size;
+
+    /*
+     * Constructor
+     * EFFECTS: creates an empty list with room for DEFAULT_CAPACITY values
+     */
+    IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: initialCapacity must be a non-negative integer
+     * EFFECTS: creates an empty list with room for initialCapacity values
+     */
+    IntList(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+        this.size = 0;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: puts value at the end of the list
+     */
+    void add(int value) {
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+        this.values[this.size++] = value;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: puts all the values of other at the end of the list, in order
+     */
+    void addAll(IntList other) {
+        if (this.size + other.size > this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(this.size + other.size, this.size * 2));
+        }
+        System.arraycopy(other.values, 0, this.values, this.size, other.size);
+        this.size += other.size;
+    }
+
+    /*
+     * REQUIRES: 0 <= i < size()
+     * EFFECTS: returns the i-th value of the list
+     */
+    int get(int i) {
+        return this.values[i];
+    }
+
+    /*
+     * EFFECTS: returns the last value of the list, or -1 if it is empty
+     */
+    int last() {
+        return this.size == 0 ? -1 : this.values[this.size - 1];
+    }
+
+    /*
+     * EFFECTS: returns the values of the list, in order, as a new array
+     */
+    int[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    int size() {
+        return this.size;
+    }
+}
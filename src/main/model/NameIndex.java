@@ -0,0 +1,177 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/*
+ * Represents an index of the airplane names of a list of flights, for finding
+ * flights by name or part of a name, ignoring case, without going through
+ * every flight.
+ * Each distinct name, in lower case, gets an id and the indices of the flights
+ * with that name; each trigram (three consecutive characters) of the names
+ * maps to the ids of the names that contain it. A search looks up the rarest
+ * trigram of the text searched for and only checks the names that contain it.
+ * Flights can only be added to the list, at its end; the index catches up
+ * with the flights added since the last lookup at the start of the next one,
+ * so adding flights costs nothing until a search is made.
+ */
+final class NameIndex {
+    private static final int TRIGRAM = 3;
+
+    private final List<Flight> flights;
+    private final Map<String, Integer> nameIds;
+    private final List<String> names; // lower case name of each id
+    private final List<IntList> flightsByName; // flight indices of each name id
+    private final Map<Long, IntList> namesByTrigram; // ids of the names that contain each trigram
+    private int numIndexed;
+
+    /*
+     * Constructor
+     * REQUIRES: flights are only ever added at the end of the list, and the
+     * airplane names of flights in the list do not change
+     * EFFECTS: creates the index of the names of flights
+     */
+    NameIndex(List<Flight> flights) {
+        this.flights = flights;
+        this.nameIds = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.flightsByName = new ArrayList<>();
+        this.namesByTrigram = new HashMap<>();
+        this.numIndexed = 0;
+    }
+
+    /*
+     * EFFECTS: returns the indices of the flights whose airplane name contains
+     * part, ignoring case, in increasing order
+     */
+    synchronized int[] search(String part) {
+        update();
+        String lowerPart = part.toLowerCase(Locale.ROOT);
+        IntList matching = new IntList();
+        IntList candidates = lowerPart.length() < TRIGRAM ? null : rarestPosting(lowerPart);
+        if (lowerPart.length() >= TRIGRAM && candidates == null) {
+            return new int[0];
+        }
+        int numCandidates = candidates == null ? this.names.size() : candidates.size();
+        for (int i = 0; i < numCandidates; i++) {
+            int id = candidates == null ? i : candidates.get(i);
+            if (this.names.get(id).contains(lowerPart)) {
+                matching.addAll(this.flightsByName.get(id));
+            }
+        }
+        int[] indices = matching.toArray();
+        Arrays.sort(indices);
+        return indices;
+    }
+
+    /*
+     * EFFECTS: returns the indices of the flights whose airplane name is name,
+     * ignoring case, in increasing order
+     */
+    synchronized int[] find(String name) {
+        update();
+        Integer id = this.nameIds.get(name.toLowerCase(Locale.ROOT));
+        return id == null ? new int[0] : this.flightsByName.get(id).toArray();
+    }
+
+    /*
+     * REQUIRES: every index is in the list of flights
+     * EFFECTS: returns an unmodifiable list of the flights at indices, read from
+     * the list of flights when they are asked for
+     */
+    List<Flight> flightsAt(int[] indices) {
+        return new IndexedFlights(indices);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: indexes the flights added since the last update
+     */
+    private void update() {
+        int size = this.flights.size();
+        for (int i = this.numIndexed; i < size; i++) {
+            String name = this.flights.get(i).getAirplaneName();
+            if (name != null) {
+                this.flightsByName.get(idOf(name.toLowerCase(Locale.ROOT))).add(i);
+            }
+        }
+        this.numIndexed = size;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: returns the id of the lower case name, giving it one and indexing
+     * its trigrams if it is new
+     */
+    private int idOf(String lowerName) {
+        Integer id = this.nameIds.get(lowerName);
+        if (id != null) {
+            return id;
+        }
+        int newId = this.names.size();
+        this.nameIds.put(lowerName, newId);
+        this.names.add(lowerName);
+        this.flightsByName.add(new IntList(1));
+        for (int i = 0; i + TRIGRAM <= lowerName.length(); i++) {
+            IntList posting = this.namesByTrigram.computeIfAbsent(trigram(lowerName, i), k -> new IntList());
+            if (posting.last() != newId) {
+                posting.add(newId); // a trigram can be repeated within a name
+            }
+        }
+        return newId;
+    }
+
+    /*
+     * REQUIRES: lowerPart.length() >= TRIGRAM
+     * EFFECTS: returns the ids of the names that contain the rarest trigram of
+     * lowerPart, or null if no name contains one of its trigrams
+     */
+    private IntList rarestPosting(String lowerPart) {
+        IntList rarest = null;
+        for (int i = 0; i + TRIGRAM <= lowerPart.length(); i++) {
+            IntList posting = this.namesByTrigram.get(trigram(lowerPart, i));
+            if (posting == null) {
+                return null;
+            }
+            if (rarest == null || posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    /*
+     * EFFECTS: returns the key of the trigram of s that starts at i
+     */
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /*
+     * Represents an unmodifiable list of the flights at some indices of the list
+     * of flights
+     */
+    private class IndexedFlights extends AbstractList<Flight> implements RandomAccess {
+        private final int[] indices;
+
+        IndexedFlights(int[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public Flight get(int i) {
+            return NameIndex.this.flights.get(this.indices[i]);
+        }
+
+        @Override
+        public int size() {
+            return this.indices.length;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Represents the log of the simulation rounds of an airport.
+ * Every record is stored as a few primitive values (round, flight index,
+ * outcome, runway id and fuel) in growable arrays, the text of a record is only
+ * built when it is rendered. Flight indices refer to the flights queue of the
+ * airport.
+ */
+public class RoundLog {
+    public static final int OUTCOME_ROUND = 0;
+    public static final int OUTCOME_LANDED = 1;
+    public static final int OUTCOME_ARRIVAL_STALLED = 2;
+    public static final int OUTCOME_TOOK_OFF = 3;
+    public static final int OUTCOME_DEPARTURE_STALLED = 4;
+    public static final int OUTCOME_CRASHED = 5;
+    public static final int NO_FLIGHT = -1;
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] rounds;
+    private int[] outcomes;
+    private int[] runwayIDs;
+    private int[] fuels;
+    private int[] flightIndices;
+    private final List<Flight> flights;
+    private int size;
+    private boolean enabled;
+
+    /*
+     * Constructor
+     * REQUIRES: flights must not be null
+     * EFFECTS: creates an empty, enabled log of the given flights with room for
+     * DEFAULT_CAPACITY records
+     */
+    public RoundLog(List<Flight> flights) {
+        this(flights, DEFAULT_CAPACITY);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: flights must not be null, initialCapacity must be a positive
+     * integer
+     * EFFECTS: creates an empty, enabled log of the given flights with room for
+     * initialCapacity records
+     */
+    public RoundLog(List<Flight> flights, int initialCapacity) {
+        this.rounds = new int[initialCapacity];
+        this.outcomes = new int[initialCapacity];
+        this.runwayIDs = new int[initialCapacity];
+        this.fuels = new int[initialCapacity];
+        this.flightIndices = new int[initialCapacity];
+        this.flights = flights;
+        this.size = 0;
+        this.enabled = true;
+    }
+
+    /*
+     * REQUIRES: outcome must be one of the OUTCOME constants, flightIndex must be
+     * an index of the flights, or NO_FLIGHT for OUTCOME_ROUND
+     * MODIFIES: this
+     * EFFECTS: appends a record to the log if the log is enabled
+     */
+    public void record(int round, int flightIndex, int outcome, int runwayID, int fuel) {
+        if (!this.enabled) {
+            return;
+        }
+        if (this.size == this.rounds.length) {
+            grow();
+        }
+        this.rounds[this.size] = round;
+        this.flightIndices[this.size] = flightIndex;
+        this.outcomes[this.size] = outcome;
+        this.runwayIDs[this.size] = runwayID;
+        this.fuels[this.size] = fuel;
+        this.size++;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: doubles the room for records
+     */
+    private void grow() {
+        int capacity = Math.max(1, this.rounds.length * 2);
+        this.rounds = Arrays.copyOf(this.rounds, capacity);
+        this.outcomes = Arrays.copyOf(this.outcomes, capacity);
+        this.runwayIDs = Arrays.copyOf(this.runwayIDs, capacity);
+        this.fuels = Arrays.copyOf(this.fuels, capacity);
+        this.flightIndices = Arrays.copyOf(this.flightIndices, capacity);
+    }
+
+    /*
+     * REQUIRES: 0 <= i < size()
+     * EFFECTS: returns the text of the i-th record
+     */
+    public String render(int i) {
+        switch (this.outcomes[i]) {
+            case OUTCOME_ROUND:
+                return "\n\tRound " + this.rounds[i] + " ";
+            case OUTCOME_LANDED:
+                return processing(i) + "Landing attempt from runway " + this.runwayIDs[i]
+                        + " -> Landed successfully.";
+            case OUTCOME_ARRIVAL_STALLED:
+                return processing(i) + "Stalled due to no space or runway. -> Fuel reduced to " + this.fuels[i]
+                        + "%.";
+            case OUTCOME_TOOK_OFF:
+                return processing(i) + "Takeoff attempt -> Took off successfully from runway " + this.runwayIDs[i]
+                        + " .";
+            case OUTCOME_DEPARTURE_STALLED:
+                return processing(i) + "Takeoff attempt -> Stalled due to no free runway.";
+            case OUTCOME_CRASHED:
+                return "\t**** Airplane " + getAirplaneName(i) + " ran out of fuel and crashed!";
+            default:
+                return "";
+        }
+    }
+
+    /*
+     * EFFECTS: returns the text of all the records in the order they were
+     * recorded
+     */
+    public List<String> renderAll() {
+        List<String> lines = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            lines.add(render(i));
+        }
+        return lines;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: removes all the records but keeps the room allocated for them
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /*
+     * EFFECTS: returns the beginning of the text of a processed flight record
+     */
+    private String processing(int i) {
+        return "\tProcessing flight : " + getAirplaneName(i) + " -> ";
+    }
+
+    /*
+     * EFFECTS: returns the airplane name of the flight of the i-th record, or an
+     * empty string if the record has no flight
+     */
+    private String getAirplaneName(int i) {
+        Flight flight = getFlight(i);
+        return flight == null ? "" : flight.getAirplaneName();
+    }
+
+    // ---------- GETTERS & SETTERS ---------- //
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getRound(int i) {
+        return this.rounds[i];
+    }
+
+    public int getFlightIndex(int i) {
+        return this.flightIndices[i];
+    }
+
+    /*
+     * REQUIRES: 0 <= i < size()
+     * EFFECTS: returns the flight of the i-th record, or null if it has none
+     */
+    public Flight getFlight(int i) {
+        int index = this.flightIndices[i];
+        return index == NO_FLIGHT ? null : this.flights.get(index);
+    }
+
+    public int getOutcome(int i) {
+        return this.outcomes[i];
+    }
+
+    public int getRunwayID(int i) {
+        return this.runwayIDs[i];
+    }
+
+    public int getFuel(int i) {
+        return this.fuels[i];
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.json.JSONObject;
 
 import persistence.Writable;
@@ -7,18 +9,22 @@ import persistence.Writable;
 /*
  * Represents a runway of an airport used for taking off and landing.
  * Each runway has a unique runwayID.
+ * A runway that belongs to an airport is attached to the airport's
+ * RunwayAllocator, which then keeps track of whether it is occupied.
  */
 public class Runway implements Writable {
     private int runwayID; // Unique
     private Flight currentFlight;
-    private static int lastRunwayID = 1;
+    private RunwayAllocator allocator;
+    private int slot;
+    private static final AtomicInteger lastRunwayID = new AtomicInteger(1);
 
     /*
      * Constructor
      * EFFECTS: sets currentFlight to null, sets a unique runwayID for this runway
      */
     public Runway() {
-        this.runwayID = lastRunwayID++; // increments for the next time
+        this.runwayID = lastRunwayID.getAndIncrement(); // increments for the next time
         this.currentFlight = null;
     }
 
@@ -29,6 +35,9 @@ public class Runway implements Writable {
      */
     public void assignFlight(Flight currentFlight) {
         this.currentFlight = currentFlight;
+        if (this.allocator != null) {
+            this.allocator.occupy(this.slot);
+        }
     }
 
     /*
@@ -38,15 +47,30 @@ public class Runway implements Writable {
      */
     public void freeRunway() {
         this.currentFlight = null;
+        if (this.allocator != null) {
+            this.allocator.release(this.slot);
+        }
     }
 
     /*
      * EFFECTS: indicates whether or not this runway is occupied
      */
     public boolean isOccupied() {
+        if (this.allocator != null) {
+            return this.allocator.isOccupied(this.slot);
+        }
         return currentFlight != null;
     }
 
+    /*
+     * MODIFIES: this
+     * EFFECTS: lets the allocator keep track of this runway in the given slot
+     */
+    void attach(RunwayAllocator allocator, int slot) {
+        this.allocator = allocator;
+        this.slot = slot;
+    }
+
     // ---------- GETTERS & SETTERS ---------- //
 
     public int getRunwayID() {
@@ -54,7 +78,7 @@ public class Runway implements Writable {
     }
 
     public Flight getCurrentFlight() {
-        return currentFlight;
+        return isOccupied() ? currentFlight : null;
     }
 
     public void setRunwayID(int runwayID) {
@@ -0,0 +1,105 @@
+package model;
+
+import java.util.List;
+
+/*
+ * Keeps track of which runways of an airport are free.
+ * Runways are kept in a permutation of their slots where the first
+ * numOccupied slots are occupied and the rest are free, so a runway can be
+ * handed out, reclaimed or all runways released at once in constant time.
+ */
+public class RunwayAllocator {
+    private final List<Runway> runways;
+    private final int[] order; // runway slots, occupied ones first
+    private final int[] position; // position of each runway slot in order
+    private int numOccupied;
+
+    /*
+     * Constructor
+     * REQUIRES: runways must not be null and must not be attached to another
+     * allocator
+     * MODIFIES: runways
+     * EFFECTS: attaches every runway to this allocator, all runways start free
+     */
+    public RunwayAllocator(List<Runway> runways) {
+        this.runways = runways;
+        this.order = new int[runways.size()];
+        this.position = new int[runways.size()];
+        this.numOccupied = 0;
+        for (int i = 0; i < runways.size(); i++) {
+            this.order[i] = i;
+            this.position[i] = i;
+            runways.get(i).attach(this, i);
+        }
+    }
+
+    /*
+     * EFFECTS: returns a runway that is not occupied, or returns null if no runway
+     * is free
+     */
+    public Runway nextFreeRunway() {
+        if (this.numOccupied == this.order.length) {
+            return null;
+        }
+        return this.runways.get(this.order[this.numOccupied]);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: marks every runway as free without visiting them
+     */
+    public void releaseAll() {
+        this.numOccupied = 0;
+    }
+
+    /*
+     * EFFECTS: returns the number of occupied runways
+     */
+    public int getNumOccupied() {
+        return this.numOccupied;
+    }
+
+    /*
+     * EFFECTS: returns true if the runway in the given slot is occupied
+     */
+    boolean isOccupied(int slot) {
+        return this.position[slot] < this.numOccupied;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: marks the runway in the given slot as occupied, does nothing if it
+     * is already occupied
+     */
+    void occupy(int slot) {
+        if (!isOccupied(slot)) {
+            swap(this.position[slot], this.numOccupied);
+            this.numOccupied++;
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: marks the runway in the given slot as free, does nothing if it is
+     * already free
+     */
+    void release(int slot) {
+        if (isOccupied(slot)) {
+            this.numOccupied--;
+            swap(this.position[slot], this.numOccupied);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: swaps the runway slots stored at positions i and j of the order
+     */
+    private void swap(int i, int j) {
+        int slotI = this.order[i];
+        int slotJ = this.order[j];
+        this.order[i] = slotJ;
+        this.order[j] = slotI;
+        this.position[slotJ] = i;
+        this.position[slotI] = j;
+    }
+}
@@ -0,0 +1,45 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a clock whose time only changes when it is told to, so events
+ * of tests and replays get deterministic time stamps.
+ */
+public class SimulatedClock implements EventClock {
+    private final AtomicLong time;
+
+    /**
+     * Creates a clock that reads the given time until it is changed.
+     *
+     * @param startMillis the initial time in milliseconds since the epoch
+     */
+    public SimulatedClock(long startMillis) {
+        this.time = new AtomicLong(startMillis);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return time.get();
+    }
+
+    /**
+     * Sets the time of this clock.
+     *
+     * @param millis the new time in milliseconds since the epoch
+     */
+    public void setTime(long millis) {
+        time.set(millis);
+    }
+
+    /**
+     * Moves the time of this clock forward, e.g. by the length of a simulation
+     * round.
+     *
+     * @param millis the number of milliseconds to move forward
+     * @return the new time in milliseconds since the epoch
+     */
+    public long advance(long millis) {
+        return time.addAndGet(millis);
+    }
+}
@@ -0,0 +1,352 @@
+package model;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Represents a controller of a simulation run of an airport, that processes
+ * its rounds on a thread of its own until every flight is complete.
+ * A run can be paused, resumed, stepped one round at a time while paused, and
+ * cancelled, and can be throttled to a number of rounds per second: each round
+ * is scheduled on a ScheduledThreadPoolExecutor for when it is due, instead of
+ * sleeping between rounds. Pausing or cancelling lets the round in progress
+ * finish, so the airport is never left in the middle of a round.
+ * Only one run of an airport can be active at a time: starting a second one
+ * while another is running or paused throws IllegalStateException. The
+ * airport is released once the last round of the run has finished.
+ */
+public class SimulationController implements AutoCloseable {
+    public static final int STATE_NEW = 0;
+    public static final int STATE_RUNNING = 1;
+    public static final int STATE_PAUSED = 2;
+    public static final int STATE_FINISHED = 3;
+    public static final int STATE_CANCELLED = 4;
+    public static final int STATE_FAILED = 5;
+    public static final double UNTHROTTLED = 0;
+
+    private static final Set<Airport> activeAirports = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Airport airport;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private RoundListener listener;
+    private int state;
+    private long generation; // changes whenever the scheduled rounds must be dropped
+    private ScheduledFuture<?> nextRound;
+    private long nextRoundTime; // System.nanoTime() at which the next round is due
+    private volatile double roundsPerSecond;
+    private volatile int roundsProcessed;
+    private RuntimeException failure;
+
+    /*
+     * Represents a receiver of the log of each round of a run
+     */
+    public interface RoundListener {
+        /*
+         * EFFECTS: called on the thread of the run after each round, with the
+         * number of the round and the text of its log entries
+         */
+        void roundProcessed(Airport airport, int round, List<String> logEntries);
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: airport must not be null
+     * EFFECTS: creates a controller of a run of airport that is not started yet
+     * and is not throttled
+     */
+    public SimulationController(Airport airport) {
+        this.airport = airport;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "Simulation of " + airport.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.state = STATE_NEW;
+        this.roundsPerSecond = UNTHROTTLED;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: starts running rounds of the airport, telling listener about
+     * each of them, or finishes at once if the airport is already done; throws
+     * IllegalStateException if the controller was already started or
+     * cancelled, or if another run of the airport is active
+     */
+    public synchronized void start(RoundListener listener) {
+        if (begin(listener, STATE_RUNNING)) {
+            this.nextRoundTime = System.nanoTime();
+            scheduleRound(0);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: starts a run of the airport that is paused before its first
+     * round, telling listener about each round, or finishes at once if the
+     * airport is already done; throws IllegalStateException if the controller
+     * was already started or cancelled, or if another run of the airport is
+     * active
+     */
+    public synchronized void startPaused(RoundListener listener) {
+        begin(listener, STATE_PAUSED);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: stops running rounds after the one in progress, if running
+     */
+    public synchronized void pause() {
+        if (this.state == STATE_RUNNING) {
+            this.state = STATE_PAUSED;
+            dropScheduledRounds();
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: runs rounds again, if paused
+     */
+    public synchronized void resume() {
+        if (this.state == STATE_PAUSED) {
+            this.state = STATE_RUNNING;
+            this.nextRoundTime = System.nanoTime();
+            scheduleRound(0);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: runs a single round and stays paused, if paused
+     */
+    public synchronized void step() {
+        if (this.state == STATE_PAUSED) {
+            long step = this.generation;
+            this.scheduler.execute(() -> runRound(step, true));
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: stops the run after the round in progress, if it is running or
+     * paused, and releases the airport once that round has finished
+     */
+    public synchronized void cancel() {
+        if (this.state == STATE_NEW) {
+            this.state = STATE_CANCELLED;
+            this.scheduler.shutdown();
+        } else if (this.state == STATE_RUNNING || this.state == STATE_PAUSED) {
+            this.state = STATE_CANCELLED;
+            dropScheduledRounds();
+            this.scheduler.execute(this::release); // after the round in progress
+            this.scheduler.shutdown();
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: same as cancel
+     */
+    @Override
+    public void close() {
+        cancel();
+    }
+
+    /*
+     * EFFECTS: waits up to timeout for the run to finish, be cancelled or fail,
+     * and returns true if it did
+     */
+    public boolean awaitStop(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.scheduler.awaitTermination(timeout, unit);
+    }
+
+    /*
+     * REQUIRES: roundsPerSecond >= 0
+     * MODIFIES: this
+     * EFFECTS: runs at most roundsPerSecond rounds per second from the next
+     * round on, or as fast as possible if it is UNTHROTTLED
+     */
+    public void setRoundsPerSecond(double roundsPerSecond) {
+        this.roundsPerSecond = roundsPerSecond;
+    }
+
+    public double getRoundsPerSecond() {
+        return this.roundsPerSecond;
+    }
+
+    public synchronized int getState() {
+        return this.state;
+    }
+
+    /*
+     * EFFECTS: indicates whether or not the run is running or paused
+     */
+    public synchronized boolean isActive() {
+        return this.state == STATE_RUNNING || this.state == STATE_PAUSED;
+    }
+
+    /*
+     * EFFECTS: indicates whether or not the run finished, failed or was
+     * cancelled and its last round is over, so the airport is no longer changed
+     * by it
+     */
+    public boolean isStopped() {
+        return this.scheduler.isTerminated();
+    }
+
+    public int getRoundsProcessed() {
+        return this.roundsProcessed;
+    }
+
+    /*
+     * EFFECTS: returns what made the run fail, or null if it did not
+     */
+    public synchronized RuntimeException getFailure() {
+        return this.failure;
+    }
+
+    public Airport getAirport() {
+        return this.airport;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: starts the run in state with listener and returns true, or
+     * finishes it and returns false if the airport is already done; throws
+     * IllegalStateException if the controller was already started or
+     * cancelled, or if another run of the airport is active, and then leaves
+     * the airport free
+     */
+    private boolean begin(RoundListener listener, int state) {
+        if (this.state != STATE_NEW) {
+            throw new IllegalStateException("This simulation of " + this.airport.getName()
+                    + " was already started or cancelled");
+        }
+        claim();
+        if (this.airport.isDone()) {
+            release();
+            this.state = STATE_FINISHED;
+            this.scheduler.shutdown();
+            return false;
+        }
+        this.listener = listener;
+        this.state = state;
+        return true;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: marks the airport as having an active run; throws
+     * IllegalStateException if it already has one
+     */
+    private void claim() {
+        synchronized (activeAirports) {
+            if (!activeAirports.add(this.airport)) {
+                throw new IllegalStateException("A simulation of " + this.airport.getName() + " is already running");
+            }
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: marks the airport as having no active run
+     */
+    private void release() {
+        synchronized (activeAirports) {
+            activeAirports.remove(this.airport);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: cancels the round that is scheduled, if any, and makes the round
+     * in progress, if any, schedule no other
+     */
+    private void dropScheduledRounds() {
+        this.generation++;
+        if (this.nextRound != null) {
+            this.nextRound.cancel(false);
+            this.nextRound = null;
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: schedules the next round of the run in delay nanoseconds
+     */
+    private void scheduleRound(long delay) {
+        long round = this.generation;
+        this.nextRound = this.scheduler.schedule(() -> runRound(round, false), delay, TimeUnit.NANOSECONDS);
+    }
+
+    /*
+     * MODIFIES: this, the airport
+     * EFFECTS: processes a round of the airport, unless the run was paused or
+     * cancelled since it was scheduled, tells the listener and schedules the
+     * next round if the run is still running; a step processes a round while
+     * paused and schedules none
+     */
+    private void runRound(long round, boolean step) {
+        synchronized (this) {
+            int expected = step ? STATE_PAUSED : STATE_RUNNING;
+            if (round != this.generation || this.state != expected) {
+                return;
+            }
+        }
+        try {
+            this.airport.processFlightsOneRound();
+            this.roundsProcessed++;
+            this.listener.roundProcessed(this.airport, this.airport.currentRound(), this.airport.flushLogEntries());
+        } catch (RuntimeException e) {
+            end(STATE_FAILED, e);
+            return;
+        }
+        if (this.airport.isDone()) {
+            end(STATE_FINISHED, null);
+        } else if (!step) {
+            scheduleNextRound(round);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: schedules the round after the one of generation round, when it
+     * is due at the current number of rounds per second, unless the run was
+     * paused or cancelled meanwhile
+     */
+    private synchronized void scheduleNextRound(long round) {
+        if (round != this.generation || this.state != STATE_RUNNING) {
+            return;
+        }
+        double rate = this.roundsPerSecond;
+        if (rate <= UNTHROTTLED) {
+            scheduleRound(0);
+            return;
+        }
+        long now = System.nanoTime();
+        // a late round moves the schedule instead of being caught up with a burst
+        this.nextRoundTime = Math.max(this.nextRoundTime + (long) (TimeUnit.SECONDS.toNanos(1) / rate), now);
+        scheduleRound(this.nextRoundTime - now);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: ends the run with state, unless it was cancelled, releases the
+     * airport and stops the thread of the run
+     */
+    private synchronized void end(int state, RuntimeException failure) {
+        if (this.state != STATE_CANCELLED) {
+            this.state = state;
+            this.failure = failure;
+        }
+        dropScheduledRounds();
+        release();
+        this.scheduler.shutdown();
+    }
+}
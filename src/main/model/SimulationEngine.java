@@ -0,0 +1,182 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/*
+ * Represents an engine that simulates many airports at once.
+ * Every round, each airport that is not done processes one round of its
+ * flights (same as Airport.processFlightsOneRound) on a fork/join pool, and the
+ * engine waits for all of them before the next round starts.
+ * An engine made with a seed gives each airport its own random source split
+ * from the seed, so a run can be reproduced without the threads sharing one.
+ */
+public class SimulationEngine implements AutoCloseable {
+    private final List<Airport> airports;
+    private final ForkJoinPool pool;
+    private final int totalFlights;
+    private int roundsCompleted;
+
+    /*
+     * Constructor
+     * REQUIRES: airports must not be null and must not be changed by anyone else
+     * while the engine runs
+     * EFFECTS: creates an engine that uses one thread per available core
+     */
+    public SimulationEngine(List<Airport> airports) {
+        this(airports, Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: airports must not be null and must not be changed by anyone else
+     * while the engine runs, parallelism must be a positive integer
+     * EFFECTS: creates an engine that uses up to parallelism threads
+     */
+    public SimulationEngine(List<Airport> airports, int parallelism) {
+        this.airports = new ArrayList<>(airports);
+        this.pool = new ForkJoinPool(parallelism);
+        int flights = 0;
+        for (Airport airport : this.airports) {
+            flights += airport.getNumActiveFlights();
+        }
+        this.totalFlights = flights;
+        this.roundsCompleted = 0;
+    }
+
+    /*
+     * Constructor
+     * REQUIRES: same as the constructor above
+     * MODIFIES: the airports
+     * EFFECTS: same as the constructor above, and gives every airport, in order,
+     * a random source split from a random source seeded with seed
+     */
+    public SimulationEngine(List<Airport> airports, int parallelism, long seed) {
+        this(airports, parallelism);
+        SplittableRandom root = new SplittableRandom(seed);
+        for (Airport airport : this.airports) {
+            airport.setRandom(root.split());
+        }
+    }
+
+    /*
+     * MODIFIES: this and the airports
+     * EFFECTS: processes one round of every airport that is not done, in parallel,
+     * and returns once all of them have finished the round; returns false if
+     * every airport was already done
+     */
+    public boolean runRound() {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Airport airport : this.airports) {
+            if (!airport.isDone()) {
+                tasks.add(() -> {
+                    airport.processFlightsOneRound();
+                    return null;
+                });
+            }
+        }
+        if (tasks.isEmpty()) {
+            return false;
+        }
+        for (Future<Void> round : this.pool.invokeAll(tasks)) {
+            waitFor(round);
+        }
+        this.roundsCompleted++;
+        return true;
+    }
+
+    /*
+     * EFFECTS: waits for the round of an airport, rethrowing any exception it
+     * threw as an IllegalStateException
+     */
+    private void waitFor(Future<Void> round) {
+        try {
+            round.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation of an airport failed", e.getCause());
+        }
+    }
+
+    /*
+     * MODIFIES: this and the airports
+     * EFFECTS: runs rounds until every airport is done
+     */
+    public void run() {
+        while (runRound()) {
+            // keep going until every airport is done
+        }
+    }
+
+    /*
+     * EFFECTS: indicates whether or not every airport is done
+     */
+    public boolean isDone() {
+        return getNumAirportsDone() == this.airports.size();
+    }
+
+    /*
+     * EFFECTS: returns the number of airports that have no incomplete flight
+     */
+    public int getNumAirportsDone() {
+        int done = 0;
+        for (Airport airport : this.airports) {
+            if (airport.isDone()) {
+                done++;
+            }
+        }
+        return done;
+    }
+
+    /*
+     * EFFECTS: returns the number of incomplete flights of all the airports
+     */
+    public int getNumActiveFlights() {
+        int active = 0;
+        for (Airport airport : this.airports) {
+            active += airport.getNumActiveFlights();
+        }
+        return active;
+    }
+
+    /*
+     * EFFECTS: returns the fraction of the flights, that were incomplete when the
+     * engine was created, that are complete now, between 0 and 1
+     */
+    public double getProgress() {
+        if (this.totalFlights == 0) {
+            return 1.0;
+        }
+        return 1.0 - (double) getNumActiveFlights() / this.totalFlights;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: stops the threads of the engine
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    // ---------- GETTERS ---------- //
+
+    public List<Airport> getAirports() {
+        return this.airports;
+    }
+
+    public int getRoundsCompleted() {
+        return this.roundsCompleted;
+    }
+
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+}
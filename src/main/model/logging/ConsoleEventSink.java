@@ -0,0 +1,39 @@
+package model.logging;
+
+import model.Event;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Represents an event sink that prints every event on the console.
+ */
+public class ConsoleEventSink implements EventSink {
+    private final PrintStream out;
+
+    /**
+     * Creates a sink that prints to the standard output.
+     */
+    public ConsoleEventSink() {
+        this(System.out);
+    }
+
+    /**
+     * Creates a sink that prints to the given stream.
+     *
+     * @param out the stream to print to
+     */
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(List<Event> events) {
+        StringBuilder text = new StringBuilder();
+        for (Event event : events) {
+            text.append(event).append(System.lineSeparator());
+        }
+        out.print(text);
+        out.flush();
+    }
+}
@@ -0,0 +1,24 @@
+package model.logging;
+
+import model.Event;
+
+import java.util.List;
+
+/**
+ * Represents a destination for the batches of events drained from the
+ * EventLog.
+ */
+public interface EventSink {
+    /**
+     * Receives the next batch of logged events, oldest first.
+     *
+     * @param events the events of the batch
+     */
+    void accept(List<Event> events);
+
+    /**
+     * Releases any resource held by this sink. Called once the drainer stops.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,51 @@
+package model.logging;
+
+import model.Event;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Represents an event sink that appends every event to a text file.
+ */
+public class FileEventSink implements EventSink {
+    private final BufferedWriter writer;
+
+    /**
+     * Opens the file for appending, creating it if it does not exist.
+     *
+     * @param destination the path of the file
+     * @throws IOException if the file cannot be opened for writing
+     */
+    public FileEventSink(String destination) throws IOException {
+        this.writer = Files.newBufferedWriter(Paths.get(destination), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void accept(List<Event> events) {
+        try {
+            for (Event event : events) {
+                writer.write(event.toString());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package model.logging;
+
+import model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an event sink that keeps every event it receives in memory.
+ */
+public class MemoryEventSink implements EventSink {
+    private final List<Event> events;
+
+    /**
+     * Creates an empty sink.
+     */
+    public MemoryEventSink() {
+        this.events = new ArrayList<>();
+    }
+
+    @Override
+    public synchronized void accept(List<Event> batch) {
+        events.addAll(batch);
+    }
+
+    /**
+     * Gets a copy of the events received so far, oldest first.
+     *
+     * @return the received events
+     */
+    public synchronized List<Event> getEvents() {
+        return new ArrayList<>(events);
+    }
+}
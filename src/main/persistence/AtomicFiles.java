@@ -0,0 +1,71 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Helpers for writers that write to a temporary file next to their destination
+// and then rename it into place, so the destination is never left half written.
+// The temporary file is forced to the disk before the rename, and the directory
+// after it, so a power loss cannot keep the rename but lose the contents
+final class AtomicFiles {
+    private static final String SUFFIX = ".tmp";
+
+    private AtomicFiles() {
+    }
+
+    // EFFECTS: returns the temporary file to write instead of destination
+    static String temporaryFor(String destination) {
+        return destination + SUFFIX;
+    }
+
+    // REQUIRES: the temporary file for destination was written and closed
+    // EFFECTS: forces the temporary file written for destination to the disk and
+    // replaces destination with it, in a single rename where the file system
+    // supports it; throws IOException if it cannot be forced, leaving
+    // destination as it was, or renamed
+    static void commit(String destination) throws IOException {
+        Path temp = Paths.get(temporaryFor(destination));
+        Path target = Paths.get(destination);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            discard(destination);
+            throw e;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    // EFFECTS: forces the entries of directory, such as a rename, to the disk,
+    // where the platform allows a directory to be opened
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // e.g. Windows cannot open a directory; the rename is kept by the file system anyway
+        }
+    }
+
+    // EFFECTS: deletes the temporary file written for destination, if any,
+    // leaving destination as it was
+    static void discard(String destination) {
+        try {
+            Files.deleteIfExists(Paths.get(temporaryFor(destination)));
+        } catch (IOException e) {
+            // nothing else to do, the destination is untouched anyway
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Helpers for the readers and writers that save their files gzip compressed:
+// writers compress when asked to, readers recognize compressed files from the
+// gzip magic bytes at their start
+final class Compression {
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private Compression() {
+    }
+
+    // EFFECTS: returns a stream that writes to out, gzip compressed if compress
+    static OutputStream compressed(OutputStream out, boolean compress) {
+        if (!compress) {
+            return out;
+        }
+        try {
+            return new GZIPOutputStream(new BufferedOutputStream(out, BUFFER_SIZE), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen, the gzip header only goes to the buffer
+        }
+    }
+
+    // EFFECTS: returns a buffered stream of the content of in, decompressed if
+    // it starts with the gzip magic bytes
+    static InputStream decompressed(InputStream in) throws IOException {
+        InputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        return isCompressed(buffered) ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+
+    // REQUIRES: in supports mark
+    // EFFECTS: returns true if in starts with the gzip magic bytes, leaving them
+    // to be read again
+    static boolean isCompressed(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return isCompressed(first, second);
+    }
+
+    // EFFECTS: returns true if first and second are the gzip magic bytes
+    static boolean isCompressed(int first, int second) {
+        return first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+}
@@ -0,0 +1,362 @@
+package persistence;
+
+import model.Airport;
+import model.Event;
+import model.EventLog;
+import model.Flight;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Represents an importer that adds the flights of a CSV schedule file to an
+// Airport. Every row is
+//     name,classification,type,origin,destination,fuel
+// where type is A or Arrival, D or Departure, and fuel is a percentage that can
+// be left empty to keep the usual fuel of the type. A first row whose first
+// field is "name" is a header, blank rows are ignored, and fields can be quoted
+// with double quotes but cannot hold line breaks. The file can be gzip
+// compressed.
+// The file is split at line breaks into chunks that are parsed in parallel,
+// then the flights are created in the order of the rows, so their flight
+// numbers and fuel do not depend on the threads, and added to the airport in a
+// single batch. Rows that cannot be parsed are skipped and reported with their
+// line number.
+public class CsvImporter {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int NUM_COLUMNS = 6;
+
+    private final String source;
+    private final int parallelism;
+    private final int chunkSize;
+
+    // EFFECTS: constructs importer to read from source file, with one thread per
+    // available core
+    public CsvImporter(String source) {
+        this(source, Runtime.getRuntime().availableProcessors());
+    }
+
+    // REQUIRES: parallelism > 0
+    // EFFECTS: constructs importer to read from source file, with up to
+    // parallelism threads
+    public CsvImporter(String source, int parallelism) {
+        this(source, parallelism, DEFAULT_CHUNK_SIZE);
+    }
+
+    // REQUIRES: parallelism > 0, chunkSize > 0
+    // EFFECTS: constructs importer to read from source file, with up to
+    // parallelism threads, in chunks of about chunkSize bytes
+    CsvImporter(String source, int parallelism, int chunkSize) {
+        this.source = source;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    // MODIFIES: airport
+    // EFFECTS: adds the flights of the valid rows of the file to airport, in
+    // order, and returns the report of the import; throws IOException if the
+    // file cannot be read, in which case airport is not changed
+    public Report importInto(Airport airport) throws IOException {
+        List<Chunk> chunks = parse(readFile());
+        Report report = new Report();
+        List<Flight> flights = new ArrayList<>();
+        int firstLine = 1;
+        for (Chunk chunk : chunks) {
+            chunk.addTo(airport, flights, firstLine, report);
+            firstLine += chunk.numLines;
+        }
+        airport.addFlights(flights);
+        EventLog.getInstance().logEvent(new Event("\tImported " + report.getNumImported() + " flights from: "
+                + source + " (" + report.getErrors().size() + " rows rejected)"));
+        return report;
+    }
+
+    // EFFECTS: returns the content of the file, decompressed if it is gzip
+    // compressed
+    private byte[] readFile() throws IOException {
+        try (InputStream in = Compression.decompressed(Files.newInputStream(Paths.get(source)))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // EFFECTS: splits bytes into chunks of whole lines, parses them in parallel
+    // and returns them in order
+    private List<Chunk> parse(byte[] bytes) throws IOException {
+        List<Callable<Chunk>> tasks = new ArrayList<>();
+        for (int start = 0; start < bytes.length; ) {
+            int end = Math.min(start + chunkSize, bytes.length);
+            while (end < bytes.length && bytes[end - 1] != '\n') {
+                end++;
+            }
+            Chunk chunk = new Chunk(bytes, start, end, start == 0);
+            tasks.add(chunk::parse);
+            start = end;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Chunk> chunks = new ArrayList<>();
+            for (Future<Chunk> future : pool.invokeAll(tasks)) {
+                chunks.add(future.get());
+            }
+            return chunks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IOException("Unable to parse " + source, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Represents the outcome of an import: how many flights were added and the
+    // rows that were rejected, in the order of the file
+    public static class Report {
+        private int numImported;
+        private final List<RowError> errors = new ArrayList<>();
+
+        public int getNumImported() {
+            return numImported;
+        }
+
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+
+    // Represents a row that was rejected, with the line it is on in the file
+    // (starting at 1) and why
+    public static class RowError {
+        private final int line;
+        private final String message;
+
+        // EFFECTS: constructs the error of the row on line
+        RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + message;
+        }
+    }
+
+    // Represents a parsed row of the schedule
+    private static class Row {
+        private final String[] fields;
+        private final int type;
+        private final int fuel; // -1 if not given
+
+        Row(String[] fields, int type, int fuel) {
+            this.fields = fields;
+            this.type = type;
+            this.fuel = fuel;
+        }
+    }
+
+    // Represents a range of whole lines of the file, with the rows and errors
+    // parsed from it
+    private static class Chunk {
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+        private final boolean first;
+        private final List<Row> rows = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>(); // lines within the chunk
+        private int numLines;
+
+        // EFFECTS: constructs the chunk of bytes from start (inclusive) to end
+        // (exclusive); first is true if it starts the file
+        Chunk(byte[] bytes, int start, int end, boolean first) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+            this.first = first;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: parses every line of the chunk and returns this
+        Chunk parse() {
+            String text = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            int from = 0;
+            while (from < text.length()) {
+                int to = text.indexOf('\n', from);
+                if (to < 0) {
+                    to = text.length();
+                }
+                int last = to > from && text.charAt(to - 1) == '\r' ? to - 1 : to;
+                parseLine(text.substring(from, last));
+                numLines++;
+                from = to + 1;
+            }
+            return this;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: parses line into a row, or an error if it is not valid
+        private void parseLine(String line) {
+            if (line.isBlank()) {
+                return;
+            }
+            try {
+                List<String> fields = splitFields(line);
+                if (first && numLines == 0 && fields.get(0).equalsIgnoreCase("name")) {
+                    return; // header
+                }
+                rows.add(parseRow(fields));
+            } catch (IllegalArgumentException e) {
+                errors.add(new RowError(numLines, e.getMessage()));
+            }
+        }
+
+        // EFFECTS: returns the row of the current line made of fields; throws
+        // IllegalArgumentException if they are not valid
+        private Row parseRow(List<String> fields) {
+            if (fields.size() != NUM_COLUMNS) {
+                throw new IllegalArgumentException("Expected " + NUM_COLUMNS + " columns but found " + fields.size());
+            }
+            if (fields.get(0).isEmpty()) {
+                throw new IllegalArgumentException("Airplane name is missing");
+            }
+            String[] values = fields.toArray(new String[NUM_COLUMNS]);
+            return new Row(values, parseType(values[2]), parseFuel(values[5]));
+        }
+
+        // MODIFIES: airport, flights, report
+        // EFFECTS: adds the flights of the rows of airport to flights and the
+        // errors to report, with their line numbers counted from firstLine
+        void addTo(Airport airport, List<Flight> flights, int firstLine, Report report) {
+            for (Row row : rows) {
+                Flight flight = new Flight(row.fields[0], row.fields[1], row.type, airport.getRandom());
+                flight.setOrigin(row.fields[3]);
+                flight.setDestination(row.fields[4]);
+                if (row.fuel >= 0) {
+                    flight.setAirplaneFuel(row.fuel);
+                }
+                flights.add(flight);
+            }
+            report.numImported += rows.size();
+            for (RowError error : errors) {
+                report.errors.add(new RowError(firstLine + error.line, error.message));
+            }
+        }
+    }
+
+    // EFFECTS: returns the fields of line, trimmed and unquoted
+    static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>(NUM_COLUMNS);
+        int from = 0;
+        while (true) {
+            int comma;
+            String field;
+            if (line.startsWith("\"", skipSpaces(line, from))) {
+                StringBuilder value = new StringBuilder();
+                comma = readQuoted(line, skipSpaces(line, from) + 1, value);
+                field = value.toString();
+            } else {
+                comma = line.indexOf(',', from);
+                field = line.substring(from, comma < 0 ? line.length() : comma).trim();
+            }
+            fields.add(field);
+            if (comma < 0) {
+                return fields;
+            }
+            from = comma + 1;
+        }
+    }
+
+    // MODIFIES: value
+    // EFFECTS: appends the quoted field that starts at from, after its opening
+    // quote, to value and returns the index of the comma after it, or -1 if it
+    // is the last field; throws IllegalArgumentException if it is not closed or
+    // anything but spaces follows its closing quote
+    private static int readQuoted(String line, int from, StringBuilder value) {
+        int i = from;
+        while (true) {
+            int quote = line.indexOf('"', i);
+            if (quote < 0) {
+                throw new IllegalArgumentException("Quoted field is not closed");
+            }
+            value.append(line, i, quote);
+            if (quote + 1 < line.length() && line.charAt(quote + 1) == '"') {
+                value.append('"');
+                i = quote + 2;
+            } else {
+                int after = skipSpaces(line, quote + 1);
+                if (after == line.length()) {
+                    return -1;
+                }
+                if (line.charAt(after) != ',') {
+                    int comma = line.indexOf(',', after);
+                    throw new IllegalArgumentException("Unexpected text after quoted field: "
+                            + line.substring(after, comma < 0 ? line.length() : comma));
+                }
+                return after;
+            }
+        }
+    }
+
+    // EFFECTS: returns the index of the first character of line at or after from
+    // that is not a space
+    private static int skipSpaces(String line, int from) {
+        int i = from;
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    // EFFECTS: returns the flight type written as type; throws
+    // IllegalArgumentException if it is not one
+    private static int parseType(String type) {
+        if (type.equalsIgnoreCase("A") || type.equalsIgnoreCase("Arrival")) {
+            return Flight.TYPE_ARIVAL;
+        }
+        if (type.equalsIgnoreCase("D") || type.equalsIgnoreCase("Departure")) {
+            return Flight.TYPE_DEPARTURE;
+        }
+        throw new IllegalArgumentException("Unknown flight type: " + type);
+    }
+
+    // EFFECTS: returns the fuel written as fuel, or -1 if it is empty; throws
+    // IllegalArgumentException if it is not a percentage
+    private static int parseFuel(String fuel) {
+        if (fuel.isEmpty()) {
+            return -1;
+        }
+        int value;
+        try {
+            value = Integer.parseInt(fuel);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Fuel is not a number: " + fuel);
+        }
+        if (value < 0 || value > Flight.MAX_AIRPLANE_FUEL) {
+            throw new IllegalArgumentException("Fuel must be between 0 and " + Flight.MAX_AIRPLANE_FUEL + ": " + fuel);
+        }
+        return value;
+    }
+}
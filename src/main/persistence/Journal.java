@@ -0,0 +1,356 @@
+package persistence;
+
+import model.Airport;
+import model.AirportListener;
+import model.Event;
+import model.EventLog;
+import model.Flight;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+// Represents an append-only journal of the changes of an airport, on top of a
+// checkpoint that is a binary snapshot of the airport.
+// Every added flight, every change of a flight during a round and every round
+// boundary is appended to the journal file as a small record, so saving costs as
+// much as what changed. Every checkpointInterval records the whole airport is
+// saved as a new checkpoint and the journal starts over.
+// Records hold the state after the change rather than the change itself, so
+// replaying records that are already part of the checkpoint changes nothing;
+// recover replays the journal on top of the checkpoint and stops at the first
+// record that was not completely written.
+// The journal is a library API: the console app and the GUI do not use it and
+// rewrite the whole JSON file or snapshot when they save.
+// Like the snapshot and JSON files, the journal does not keep the emergency
+// lane: a recovered airport has the status, fuel and completion of every flight,
+// but flights that were waiting in the emergency lane at the end of a round go
+// back to the order of the active flights.
+public class Journal implements AirportListener {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+    private static final int MAGIC = 0x41544a4c; // "ATJL"
+    private static final byte FLIGHT_ADDED = 1;
+    private static final byte FLIGHT_UPDATED = 2;
+    private static final byte ROUND_PROCESSED = 3;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final String checkpointFile;
+    private final String journalFile;
+    private final int checkpointInterval;
+    private final ByteArrayOutputStream record;
+    private final DataOutputStream recordData;
+    private final CRC32 crc;
+    private Airport airport;
+    private FileOutputStream file;
+    private DataOutputStream out;
+    private int numRecords;
+    private IOException failure;
+
+    // EFFECTS: constructs a journal that keeps its checkpoint and records in the
+    // given files, with the default checkpoint interval
+    public Journal(String checkpointFile, String journalFile) {
+        this(checkpointFile, journalFile, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    // REQUIRES: checkpointInterval > 0
+    // EFFECTS: constructs a journal that keeps its checkpoint and records in the
+    // given files, and saves a new checkpoint every checkpointInterval records
+    public Journal(String checkpointFile, String journalFile, int checkpointInterval) {
+        this.checkpointFile = checkpointFile;
+        this.journalFile = journalFile;
+        this.checkpointInterval = checkpointInterval;
+        this.record = new ByteArrayOutputStream();
+        this.recordData = new DataOutputStream(this.record);
+        this.crc = new CRC32();
+    }
+
+    // MODIFIES: this, airport
+    // EFFECTS: saves a checkpoint of airport, starts a new journal and records
+    // every later change of airport; throws IOException if they cannot be
+    // written
+    public void attach(Airport airport) throws IOException {
+        this.airport = airport;
+        checkpoint();
+        airport.addListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the whole airport as the new checkpoint and starts the
+    // journal over; throws IOException if they cannot be written
+    public void checkpoint() throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(this.checkpointFile);
+        writer.open();
+        try {
+            writer.write(this.airport);
+        } finally {
+            writer.close(); // replaces the old checkpoint only if the new one was written
+        }
+        closeFile();
+        this.file = new FileOutputStream(this.journalFile);
+        this.out = new DataOutputStream(new BufferedOutputStream(this.file));
+        this.out.writeInt(MAGIC);
+        recordRound(this.airport, this.airport.currentRound()); // snapshots do not keep the round
+        this.numRecords = 0;
+        save();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the records appended so far to the disk; throws
+    // IOException if they, or any earlier record, could not be written, and
+    // IllegalStateException if the journal is not attached or already closed
+    public void save() throws IOException {
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        if (this.out == null) {
+            throw new IllegalStateException("journal is not attached");
+        }
+        this.out.flush();
+        this.file.getFD().sync();
+    }
+
+    // MODIFIES: this, the airport
+    // EFFECTS: saves the records appended so far, stops recording the changes of
+    // the airport and closes the journal; does nothing if the journal was never
+    // attached or is already closed; throws IOException if the records could
+    // not be written
+    public void close() throws IOException {
+        if (this.airport != null) {
+            this.airport.removeListener(this);
+        }
+        if (this.out == null) {
+            return;
+        }
+        try {
+            save();
+        } finally {
+            closeFile();
+        }
+    }
+
+    // EFFECTS: returns the airport saved in the checkpoint file with the records of
+    // the journal file replayed on top of it; records after one that was not
+    // completely written are ignored. Throws IOException if the checkpoint
+    // cannot be read or the journal does not fit the checkpoint
+    public static Airport recover(String checkpointFile, String journalFile) throws IOException {
+        Airport airport = new SnapshotReader(checkpointFile).read();
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("File is not an airport journal");
+            }
+            byte[] payload;
+            while ((payload = readRecord(in)) != null) {
+                replay(airport, new DataInputStream(new ByteArrayInputStream(payload)));
+                replayed++;
+            }
+        } catch (FileNotFoundException | EOFException e) {
+            // no journal, or no record since the checkpoint
+        }
+        EventLog.getInstance().logEvent(new Event("\tReplayed " + replayed + " journal records from: " + journalFile));
+        return airport;
+    }
+
+    @Override
+    public void flightAdded(Airport airport, int index, Flight flight) {
+        startRecord(FLIGHT_ADDED, index);
+        try {
+            recordData.writeInt(flight.getFlightNumber());
+            writeString(flight.getAirplaneName());
+            writeString(flight.getClassification());
+            writeString(flight.getOrigin());
+            writeString(flight.getDestination());
+            recordData.writeByte(flight.getType());
+            writeFlightState(flight);
+        } catch (IOException e) {
+            fail(e);
+        }
+        endRecord();
+        checkpointIfDue();
+    }
+
+    @Override
+    public void flightUpdated(Airport airport, int index, Flight flight) {
+        startRecord(FLIGHT_UPDATED, index);
+        try {
+            writeFlightState(flight);
+        } catch (IOException e) {
+            fail(e);
+        }
+        endRecord(); // never checkpoints in the middle of a round
+    }
+
+    @Override
+    public void roundProcessed(Airport airport, int round) {
+        recordRound(airport, round);
+        checkpointIfDue();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the record of the end of round of airport
+    private void recordRound(Airport airport, int round) {
+        startRecord(ROUND_PROCESSED, round);
+        try {
+            recordData.writeInt(airport.getCurrentCapacity());
+        } catch (IOException e) {
+            fail(e);
+        }
+        endRecord();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a new record of kind type about number
+    private void startRecord(byte type, int number) {
+        record.reset();
+        try {
+            recordData.writeByte(type);
+            recordData.writeInt(number);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes s to the record, null as an empty string
+    private void writeString(String s) throws IOException {
+        recordData.writeUTF(s == null ? "" : s);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the status, fuel and completion of flight to the record
+    private void writeFlightState(Flight flight) throws IOException {
+        recordData.writeByte(flight.getStatus());
+        recordData.writeByte(flight.getAirplaneFuel());
+        recordData.writeBoolean(flight.isComplete());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the record to the journal as its length, its checksum and
+    // its bytes
+    private void endRecord() {
+        if (this.failure != null) {
+            return;
+        }
+        try {
+            crc.reset();
+            crc.update(record.toByteArray());
+            out.writeInt(record.size());
+            out.writeInt((int) crc.getValue());
+            record.writeTo(out);
+            numRecords++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves a checkpoint if checkpointInterval records were appended
+    // since the last one
+    private void checkpointIfDue() {
+        if (this.failure == null && numRecords >= checkpointInterval) {
+            try {
+                checkpoint();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps the first failure, to be thrown by the next save
+    private void fail(IOException e) {
+        if (this.failure == null) {
+            this.failure = e;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the journal file, if open
+    private void closeFile() throws IOException {
+        if (this.out != null) {
+            this.out.close();
+            this.out = null;
+        }
+    }
+
+    // EFFECTS: returns the bytes of the next record, or null if there is no
+    // complete and intact record left
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // MODIFIES: airport
+    // EFFECTS: applies the record to airport; throws IOException if it does not
+    // fit the airport
+    private static void replay(Airport airport, DataInputStream record) throws IOException {
+        byte type = record.readByte();
+        int number = record.readInt();
+        if (type == FLIGHT_ADDED) {
+            replayFlightAdded(airport, number, record);
+        } else if (type == FLIGHT_UPDATED) {
+            if (number >= airport.getFlightsQueue().size()) {
+                throw new IOException("Journal does not fit the checkpoint at flight " + number);
+            }
+            airport.restoreFlight(number, record.readByte(), record.readByte(), record.readBoolean());
+        } else if (type == ROUND_PROCESSED) {
+            airport.restoreRound(number, record.readInt());
+        } else {
+            throw new IOException("Unknown journal record: " + type);
+        }
+    }
+
+    // MODIFIES: airport
+    // EFFECTS: adds the flight of the record at index, unless the checkpoint
+    // already has it; throws IOException if it would not be at index
+    private static void replayFlightAdded(Airport airport, int index, DataInputStream record) throws IOException {
+        record.readInt(); // flight numbers are given again when loading, as in JsonReader
+        String airplaneName = record.readUTF();
+        String classification = record.readUTF();
+        String origin = record.readUTF();
+        String destination = record.readUTF();
+        int flightType = record.readByte();
+        int status = record.readByte();
+        int fuel = record.readByte();
+        boolean isComplete = record.readBoolean();
+        if (index < airport.getFlightsQueue().size()) {
+            airport.restoreFlight(index, status, fuel, isComplete);
+            return;
+        }
+        if (index > airport.getFlightsQueue().size()) {
+            throw new IOException("Journal does not fit the checkpoint at flight " + index);
+        }
+        if (fuel < 0 || fuel > Flight.MAX_AIRPLANE_FUEL) {
+            throw new IOException("Journal has an invalid fuel at flight " + index + ": " + fuel);
+        }
+        Flight flight = new Flight(Flight.reserveFlightNumbers(1), airplaneName, classification, flightType, fuel);
+        flight.setOrigin(origin);
+        flight.setDestination(destination);
+        flight.setStatus(status);
+        if (isComplete) {
+            flight.setComplete();
+        }
+        airport.addFlight(flight);
+    }
+}
@@ -6,58 +6,145 @@ import model.EventLog;
 import model.Flight;
 import model.Runway;
 
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 // Referenced from the JsonSerialization Demo
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 // Represents a reader that reads airport from JSON data stored in file
+// read converts large flights arrays to flights in chunks on a fork/join pool;
+// either way the flights keep their order and get consecutive flight numbers
+// in that order.
 public class JsonReader {
+    private static final int CHUNK_SIZE = 1024;
     private String source;
+    private int parallelism;
+    private IntConsumer progressListener;
 
-    // EFFECTS: constructs reader to read from source file
+    // EFFECTS: constructs reader to read from source file, with one thread per
+    // available core
     public JsonReader(String source) {
+        this(source, Runtime.getRuntime().availableProcessors());
+    }
+
+    // REQUIRES: parallelism > 0
+    // EFFECTS: constructs reader to read from source file, with up to
+    // parallelism threads
+    public JsonReader(String source, int parallelism) {
         this.source = source;
+        this.parallelism = parallelism;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the listener that readStreaming tells the percentage of the
+    // file read so far, every time it grows; null for no listener
+    public void setProgressListener(IntConsumer progressListener) {
+        this.progressListener = progressListener;
     }
 
-    // EFFECTS: reads Airport from file and returns it;
-    // throws IOException if an error occurs reading data from file
+    // EFFECTS: reads Airport from file, decompressed if it is gzip compressed,
+    // and returns it; throws IOException if an error occurs reading data from
+    // file, or if a flight in it is not valid
     public Airport read() throws IOException {
         String jsonData = readFile(source);
         JSONObject jsonObject = new JSONObject(jsonData);
-        return parseAirport(jsonObject);
+        try {
+            return parseAirport(jsonObject);
+        } catch (IllegalArgumentException e) {
+            throw invalidFlight(e);
+        }
+    }
+
+    // EFFECTS: reads Airport from file and returns it, without keeping the whole
+    // file text in memory: the file is tokenized as it is read and each flight is
+    // created as soon as it is parsed and added to the airport with the next
+    // chunk of flights, so that only one chunk is held besides the airport. This
+    // needs the name, maxCapacity and numRunways of the airport to come before
+    // its flights, as writeStreaming writes them; otherwise the flights are kept
+    // until the end of the file;
+    // gzip compressed files are decompressed as they are read;
+    // throws IOException if an error occurs reading data from file, or if a
+    // flight in it is not valid
+    public Airport readStreaming() throws IOException {
+        long size = Files.size(Paths.get(source));
+        try (InputStream file = new ProgressInputStream(Files.newInputStream(Paths.get(source)), size);
+                Reader reader = new BufferedReader(new InputStreamReader(Compression.decompressed(file),
+                        StandardCharsets.UTF_8.newDecoder()))) {
+            return new AirportStream(new JSONTokener(reader)).parse();
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw invalidFlight(e);
+        }
     }
 
-    // EFFECTS: reads source file as string and returns it
+    // EFFECTS: returns the exception to throw for a flight of source that could
+    // not be created because of e
+    private IOException invalidFlight(IllegalArgumentException e) {
+        return new IOException("Invalid flight in " + source + ": " + e.getMessage(), e);
+    }
+
+    // EFFECTS: reads source file as string and returns it, decompressed if it
+    // is gzip compressed
     private String readFile(String source) throws IOException {
-        return new String(Files.readAllBytes(Paths.get(source)), StandardCharsets.UTF_8);
+        try (InputStream in = Compression.decompressed(Files.newInputStream(Paths.get(source)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 
     // EFFECTS: parses airport from JSON object and returns it
     private Airport parseAirport(JSONObject jsonObject) {
+        Airport airport = createAirport(jsonObject);
+        setupAirport(airport, jsonObject);
+
+        // Parse flights
+        addFlights(airport, jsonObject.getJSONArray("flights"));
+
+        return airport;
+    }
+
+    // EFFECTS: creates the airport with the name, capacity and runways of the JSON
+    // object and returns it
+    private Airport createAirport(JSONObject jsonObject) {
         String name = jsonObject.getString("name");
         int capacity = jsonObject.getInt("maxCapacity");
-        int currentCapacity = jsonObject.getInt("currentCapacity");
         int numRunways = jsonObject.getInt("numRunways");
-        int[] runwayIds = getRunwayIds(jsonObject.getJSONArray("runways"));
         Airport airport = new Airport(name, capacity, numRunways);
         EventLog.getInstance().logEvent(new Event("\tLoading the airport from saved file: " + source));
-        airport.setCurrentCapacity(currentCapacity);
+        return airport;
+    }
+
+    // MODIFIES: airport
+    // EFFECTS: sets the current capacity and the runway IDs of the airport to the
+    // ones of the JSON object
+    private void setupAirport(Airport airport, JSONObject jsonObject) {
+        airport.setCurrentCapacity(jsonObject.getInt("currentCapacity"));
+        int[] runwayIds = getRunwayIds(jsonObject.getJSONArray("runways"));
         List<Runway> currentRunways = airport.getRunways();
         for (int i = 0; i < currentRunways.size(); i++) {
             currentRunways.get(i).setRunwayID(runwayIds[i]);
         }
-
-        // Parse flights
-        addFlights(airport, jsonObject.getJSONArray("flights"));
-
-        return airport;
     }
 
     // EFFECTS: parses runway IDs from JSON array and returns an array of integers
@@ -73,31 +160,231 @@ public class JsonReader {
     }
 
     // MODIFIES: airport
-    // EFFECTS: parses flights from JSON array and adds them to the airport
+    // EFFECTS: parses flights from JSON array and adds them to the airport, in
+    // a single batch; arrays of more than one chunk are parsed in parallel
     private void addFlights(Airport airport, JSONArray jsonFlights) {
-        for (Object json : jsonFlights) {
-            JSONObject nextFlight = (JSONObject) json;
-            addFlight(airport, nextFlight);
+        Flight[] flights = new Flight[jsonFlights.length()];
+        ParseFlights task = new ParseFlights(jsonFlights, flights, Flight.reserveFlightNumbers(flights.length),
+                0, flights.length);
+        if (flights.length <= CHUNK_SIZE || parallelism == 1) {
+            task.compute();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
         }
+        airport.addFlights(Arrays.asList(flights));
     }
 
-    // MODIFIES: airport
-    // EFFECTS: parses flight from JSON object and adds it to the airport
-    private void addFlight(Airport airport, JSONObject jsonObject) {
+    // EFFECTS: parses flight from JSON object and returns it, with the given
+    // flight number
+    private static Flight parseFlight(JSONObject jsonObject, int flightNumber) {
         String airplaneName = jsonObject.getString("airplaneName");
         String classification = jsonObject.getString("classification");
         int status = jsonObject.getInt("status");
         int fuel = jsonObject.getInt("airplaneFuel");
         int flightType = jsonObject.getInt("type");
         boolean isComplete = jsonObject.getBoolean("isComplete");
-        Flight flight = new Flight(airplaneName, classification, flightType);
+        Flight flight = new Flight(flightNumber, airplaneName, classification, flightType, fuel);
         flight.setStatus(status);
-        flight.setAirplaneFuel(fuel);
         flight.setOrigin(jsonObject.getString("origin"));
         flight.setDestination(jsonObject.getString("destination"));
         if (isComplete) {
             flight.setComplete();
         }
-        airport.addFlight(flight);
+        return flight;
+    }
+
+    // Represents the task of parsing the flights at indexes from (inclusive) to
+    // to (exclusive) of a JSON array into the same indexes of flights; the
+    // flight at index i gets flight number firstNumber + i. Ranges of more than
+    // one chunk are split in two halves parsed in parallel, when run on a pool
+    private static class ParseFlights extends RecursiveAction {
+        private final JSONArray jsonFlights;
+        private final Flight[] flights;
+        private final int firstNumber;
+        private final int from;
+        private final int to;
+
+        ParseFlights(JSONArray jsonFlights, Flight[] flights, int firstNumber, int from, int to) {
+            this.jsonFlights = jsonFlights;
+            this.flights = flights;
+            this.firstNumber = firstNumber;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE || getPool() == null) {
+                for (int i = from; i < to; i++) {
+                    flights[i] = parseFlight(jsonFlights.getJSONObject(i), firstNumber + i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParseFlights(jsonFlights, flights, firstNumber, from, middle),
+                    new ParseFlights(jsonFlights, flights, firstNumber, middle, to));
+        }
+    }
+
+    // Represents an airport being parsed from a stream of JSON tokens.
+    // Every member of the airport except "flights" is small and is kept in header
+    // until the end; flights are parsed one at a time, wherever they are in the
+    // object. The airport is created as soon as the header has the members it is
+    // created from, and from then on flights are added to it a chunk at a time;
+    // flights that come before those members are kept until the end.
+    private class AirportStream {
+        private final JSONTokener tokener;
+        private final JSONObject header;
+        private final List<Flight> flights; // parsed but not added to the airport yet
+        private Airport airport;
+
+        // EFFECTS: constructs a stream that parses the airport from tokener
+        AirportStream(JSONTokener tokener) {
+            this.tokener = tokener;
+            this.header = new JSONObject();
+            this.flights = new ArrayList<>();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: parses the airport object and returns the airport
+        Airport parse() {
+            expect('{');
+            if (!isEnd('}')) {
+                do {
+                    String key = this.tokener.nextValue().toString();
+                    expect(':');
+                    if (key.equals("flights")) {
+                        parseFlights();
+                    } else {
+                        this.header.put(key, this.tokener.nextValue());
+                    }
+                } while (nextSeparator('}'));
+            }
+            return finish();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: parses the flights array, creating the airport first if the
+        // header allows it, and adds each full chunk of flights to the airport
+        private void parseFlights() {
+            if (this.airport == null && this.header.has("name") && this.header.has("maxCapacity")
+                    && this.header.has("numRunways")) {
+                this.airport = createAirport(this.header);
+            }
+            expect('[');
+            if (isEnd(']')) {
+                return;
+            }
+            do {
+                Object json = this.tokener.nextValue();
+                if (!(json instanceof JSONObject)) {
+                    throw this.tokener.syntaxError("A flight must be a JSON object");
+                }
+                this.flights.add(parseFlight((JSONObject) json, Flight.reserveFlightNumbers(1)));
+                if (this.airport != null && this.flights.size() == CHUNK_SIZE) {
+                    addParsedFlights();
+                }
+            } while (nextSeparator(']'));
+        }
+
+        // MODIFIES: this
+        // EFFECTS: creates the airport from the header unless it was created
+        // already, adds the flights left to it and returns it
+        private Airport finish() {
+            if (this.airport == null) {
+                this.airport = createAirport(this.header);
+            }
+            addParsedFlights();
+            setupAirport(this.airport, this.header);
+            return this.airport;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the flights parsed so far to the airport and forgets them
+        private void addParsedFlights() {
+            if (!this.flights.isEmpty()) {
+                this.airport.addFlights(this.flights);
+                this.flights.clear();
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: reads the next character, throws JSONException if it is not c
+        private void expect(char c) {
+            char next = this.tokener.nextClean();
+            if (next != c) {
+                throw this.tokener.syntaxError("Expected '" + c + "' but found '" + next + "'");
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns true and consumes the next character if it is end,
+        // otherwise leaves it to be read again and returns false
+        private boolean isEnd(char end) {
+            if (this.tokener.nextClean() == end) {
+                return true;
+            }
+            this.tokener.back();
+            return false;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: reads the separator after a value; returns true if another
+        // value follows and false if end was reached, throws JSONException
+        // otherwise
+        private boolean nextSeparator(char end) {
+            char next = this.tokener.nextClean();
+            if (next == ',') {
+                return true;
+            }
+            if (next != end) {
+                throw this.tokener.syntaxError("Expected ',' or '" + end + "' but found '" + next + "'");
+            }
+            return false;
+        }
+    }
+
+    // Represents a stream that tells the progress listener, if any, the
+    // percentage of the file read so far
+    private class ProgressInputStream extends FilterInputStream {
+        private final long size;
+        private long count;
+        private int percent;
+
+        // EFFECTS: constructs a stream reading in, a file of size bytes
+        ProgressInputStream(InputStream in, long size) {
+            super(in);
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            advance(b < 0 ? 0 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            advance(Math.max(n, 0));
+            return n;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: counts n more bytes read and tells the listener if the
+        // percentage grew
+        private void advance(int n) {
+            count += n;
+            if (progressListener != null && size > 0 && count * 100 / size > percent) {
+                percent = (int) Math.min(100, count * 100 / size);
+                progressListener.accept(percent);
+            }
+        }
     }
 }
@@ -3,27 +3,69 @@ package persistence;
 import model.Airport;
 import model.Event;
 import model.EventLog;
+import model.Flight;
+import model.Runway;
 
 import org.json.JSONObject;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntConsumer;
 
 // Represents a writer that saves the info of an Airport to a Json file
+// write builds the JSON tree of the whole airport before saving it, while
+// writeStreaming writes the same schema straight to the file, one flight at a
+// time, indented or not.
+// The airport is written to a temporary file that replaces the destination file
+// only once it is completely written, when the writer is closed, gzip
+// compressed if the writer was constructed to compress.
 public class JsonWriter {
     private static final int TAB = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String[] INDENTS = {"\n", "\n    ", "\n        ", "\n            "};
     private PrintWriter writer;
     private String destination;
+    private boolean indent;
+    private boolean compress;
+    private boolean written;
+    private IntConsumer progressListener;
 
     // EFFECTS: constructs writer to write to destination file
     public JsonWriter(String destination) {
+        this(destination, true);
+    }
+
+    // EFFECTS: constructs writer to write to destination file; the streaming
+    // writer skips indentation if indent is false
+    public JsonWriter(String destination, boolean indent) {
+        this(destination, indent, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file, gzip compressed
+    // if compress is true; the streaming writer skips indentation if indent is
+    // false
+    public JsonWriter(String destination, boolean indent, boolean compress) {
         this.destination = destination;
+        this.indent = indent;
+        this.compress = compress;
     }
 
     // MODIFIES: this
     // EFFECTS: opens writer; throws FileNotFoundException if destination file
     // cannot be opened for writing
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+        OutputStream file = new FileOutputStream(AtomicFiles.temporaryFor(destination));
+        writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                Compression.compressed(file, compress), StandardCharsets.UTF_8), BUFFER_SIZE));
+        written = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the listener that writeStreaming tells the percentage of the
+    // flights written so far, every time it grows; null for no listener
+    public void setProgressListener(IntConsumer progressListener) {
+        this.progressListener = progressListener;
     }
 
     // MODIFIES: this
@@ -31,13 +73,143 @@ public class JsonWriter {
     public void write(Airport airport) {
         JSONObject json = airport.toJson();
         saveToFile(json.toString(TAB));
+        written = true;
         EventLog.getInstance().logEvent(new Event("\tThe data was saved on the computer at : " + this.destination));
     }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
-    public void close() {
+    // EFFECTS: writes JSON representation of airport to file with the same schema
+    // as write, but flight by flight, without building the JSON tree
+    public void writeStreaming(Airport airport) {
+        writer.print('{');
+        writeKey(1, "name", false);
+        writer.print(JSONObject.quote(airport.getName()));
+        writeKey(1, "maxCapacity", true);
+        writer.print(airport.getMaxCapacity());
+        writeKey(1, "currentCapacity", true);
+        writer.print(airport.getCurrentCapacity());
+        writeKey(1, "numRunways", true);
+        writer.print(airport.getRunways().size());
+        writeKey(1, "runways", true);
+        writeRunways(airport.getRunways());
+        writeKey(1, "flights", true);
+        writeFlights(airport.getFlightsQueue());
+        newline(0);
+        writer.print('}');
+        written = true;
+        EventLog.getInstance().logEvent(new Event("\tThe data was saved on the computer at : " + this.destination));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the runways as a JSON array
+    private void writeRunways(List<Runway> runways) {
+        writer.print('[');
+        for (int i = 0; i < runways.size(); i++) {
+            if (i > 0) {
+                writer.print(',');
+            }
+            newline(2);
+            writer.print('{');
+            writeKey(3, "runwayID", false);
+            writer.print(runways.get(i).getRunwayID());
+            writeKey(3, "occupied", true);
+            writer.print(runways.get(i).isOccupied());
+            newline(2);
+            writer.print('}');
+        }
+        endArray(runways.isEmpty());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the flights as a JSON array, one flight at a time
+    private void writeFlights(List<Flight> flights) {
+        writer.print('[');
+        long count = 0;
+        int percent = 0;
+        for (Flight flight : flights) {
+            if (count > 0) {
+                writer.print(',');
+            }
+            newline(2);
+            writeFlight(flight);
+            count++;
+            if (progressListener != null && count * 100 / flights.size() > percent) {
+                percent = (int) (count * 100 / flights.size());
+                progressListener.accept(percent);
+            }
+        }
+        endArray(count == 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the flight as a JSON object
+    private void writeFlight(Flight flight) {
+        writer.print('{');
+        writeKey(3, "flightNumber", false);
+        writer.print(flight.getFlightNumber());
+        writeKey(3, "airplaneName", true);
+        writer.print(JSONObject.quote(flight.getAirplaneName()));
+        writeKey(3, "type", true);
+        writer.print(flight.getType());
+        writeKey(3, "isComplete", true);
+        writer.print(flight.isComplete());
+        writeKey(3, "classification", true);
+        writer.print(JSONObject.quote(flight.getClassification()));
+        writeKey(3, "status", true);
+        writer.print(flight.getStatus());
+        writeKey(3, "airplaneFuel", true);
+        writer.print(flight.getAirplaneFuel());
+        writeKey(3, "origin", true);
+        writer.print(JSONObject.quote(flight.getOrigin()));
+        writeKey(3, "destination", true);
+        writer.print(JSONObject.quote(flight.getDestination()));
+        newline(2);
+        writer.print('}');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the key of a member at depth, after a comma if it is not
+    // the first member of its object
+    private void writeKey(int depth, String key, boolean comma) {
+        if (comma) {
+            writer.print(',');
+        }
+        newline(depth);
+        writer.print(JSONObject.quote(key));
+        writer.print(indent ? ": " : ":");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes an array that is a member of the airport
+    private void endArray(boolean empty) {
+        if (!empty) {
+            newline(1);
+        }
+        writer.print(']');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a new line indented to depth, if indenting
+    private void newline(int depth) {
+        if (indent) {
+            writer.print(INDENTS[depth]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer; if an airport was written, it replaces the
+    // destination file, otherwise the destination file is left as it was;
+    // throws IOException if the airport could not be written or put in place
+    public void close() throws IOException {
         writer.close();
+        if (!written || writer.checkError()) {
+            AtomicFiles.discard(destination);
+            if (written) {
+                throw new IOException("Unable to write to file: " + destination);
+            }
+            return;
+        }
+        AtomicFiles.commit(destination);
     }
 
     // MODIFIES: this
@@ -0,0 +1,47 @@
+package persistence;
+
+// Layout of the binary snapshot of an airport, shared by SnapshotWriter and
+// SnapshotReader. All numbers are big-endian.
+//
+//   header   magic (int), version (short), unused (short), airport name (string
+//            index), maxCapacity, currentCapacity, numRunways, numFlights (ints),
+//            offset of the flight records, offset of the string table (longs)
+//   runways  numRunways records of runwayID (int) and occupied (byte)
+//   flights  numFlights records of flightNumber, airplaneName, classification,
+//            origin, destination (ints, names are string indices), type, status,
+//            airplaneFuel and isComplete (bytes)
+//   strings  number of strings (int), then each string as its length in bytes
+//            (int) followed by its UTF-8 bytes
+//
+// Every flight record has the same width, so flight i starts at
+// flightsOffset + i * FLIGHT_RECORD_SIZE.
+final class Snapshot {
+    static final int MAGIC = 0x41544353; // "ATCS"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 44;
+    static final int RUNWAY_RECORD_SIZE = 5;
+    static final int FLIGHT_RECORD_SIZE = 24;
+
+    // position of each field in the header
+    static final int NAME_POSITION = 8;
+    static final int MAX_CAPACITY_POSITION = 12;
+    static final int CURRENT_CAPACITY_POSITION = 16;
+    static final int NUM_RUNWAYS_POSITION = 20;
+    static final int NUM_FLIGHTS_POSITION = 24;
+    static final int FLIGHTS_OFFSET_POSITION = 28;
+    static final int STRINGS_OFFSET_POSITION = 36;
+
+    // position of each field in a flight record
+    static final int FLIGHT_NUMBER = 0;
+    static final int AIRPLANE_NAME = 4;
+    static final int CLASSIFICATION = 8;
+    static final int ORIGIN = 12;
+    static final int DESTINATION = 16;
+    static final int TYPE = 20;
+    static final int STATUS = 21;
+    static final int AIRPLANE_FUEL = 22;
+    static final int IS_COMPLETE = 23;
+
+    private Snapshot() {
+    }
+}
@@ -0,0 +1,193 @@
+package persistence;
+
+import model.Airport;
+import model.Event;
+import model.EventLog;
+import model.Flight;
+import model.Runway;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Represents a reader that loads an Airport from a binary snapshot file (see
+// Snapshot for the layout) by mapping the file into memory; a gzip compressed
+// snapshot is recognized from its first bytes and decompressed into memory instead
+public class SnapshotReader {
+    private String source;
+
+    // EFFECTS: constructs reader to read from source file
+    public SnapshotReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads Airport from file and returns it;
+    // throws IOException if an error occurs reading data from file, or if the
+    // file is not a valid snapshot
+    public Airport read() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            ByteBuffer snapshot = isCompressed(channel) ? inflate(channel) : map(channel);
+            checkRecords(snapshot, source);
+            return parseAirport(snapshot, readStrings(snapshot, source));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot is corrupted: " + source, e);
+        }
+    }
+
+    // EFFECTS: returns a read-only view of the airport of the file that decodes
+    // flights only when they are asked for; throws IOException if the file
+    // cannot be read or is not a valid snapshot. A compressed snapshot is
+    // decompressed into memory first, so only an uncompressed one opens at
+    // once whatever its size
+    public SnapshotView view() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            ByteBuffer snapshot = isCompressed(channel) ? inflate(channel) : map(channel);
+            return new SnapshotView(source, snapshot);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Snapshot is corrupted: " + source, e);
+        }
+    }
+
+    // EFFECTS: maps the whole file into memory, checks its header and returns
+    // it; throws IOException if it cannot be mapped or is not a snapshot
+    static MappedByteBuffer map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < Snapshot.HEADER_SIZE) {
+            throw new IOException("File is not an airport snapshot");
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot is too large to be mapped");
+        }
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        checkHeader(map);
+        return map;
+    }
+
+    // EFFECTS: returns true if the file starts with the gzip magic bytes
+    static boolean isCompressed(FileChannel channel) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(2);
+        channel.read(start, 0);
+        return Compression.isCompressed(start.get(0) & 0xff, start.get(1) & 0xff);
+    }
+
+    // EFFECTS: decompresses the whole file into memory, checks its header and
+    // returns it; throws IOException if it cannot be decompressed or is not a
+    // snapshot
+    static ByteBuffer inflate(FileChannel channel) throws IOException {
+        try (InputStream in = Compression.decompressed(Channels.newInputStream(channel.position(0)))) {
+            ByteBuffer snapshot = ByteBuffer.wrap(in.readAllBytes());
+            if (snapshot.capacity() < Snapshot.HEADER_SIZE) {
+                throw new IOException("File is not an airport snapshot");
+            }
+            checkHeader(snapshot);
+            return snapshot;
+        }
+    }
+
+    // EFFECTS: throws IOException if snapshot does not start with the header of
+    // a snapshot of the supported version
+    private static void checkHeader(ByteBuffer snapshot) throws IOException {
+        if (snapshot.getInt(0) != Snapshot.MAGIC) {
+            throw new IOException("File is not an airport snapshot");
+        }
+        if (snapshot.getShort(4) != Snapshot.VERSION) {
+            throw new IOException("Unsupported snapshot version: " + snapshot.getShort(4));
+        }
+    }
+
+    // EFFECTS: throws IOException if the runway records, the flight records and
+    // the string table of the snapshot of source do not fit in it
+    static void checkRecords(ByteBuffer map, String source) throws IOException {
+        int numRunways = map.getInt(Snapshot.NUM_RUNWAYS_POSITION);
+        int numFlights = map.getInt(Snapshot.NUM_FLIGHTS_POSITION);
+        long flights = map.getLong(Snapshot.FLIGHTS_OFFSET_POSITION);
+        long strings = map.getLong(Snapshot.STRINGS_OFFSET_POSITION);
+        if (numRunways < 0 || Snapshot.HEADER_SIZE + (long) numRunways * Snapshot.RUNWAY_RECORD_SIZE > flights) {
+            throw new IOException("Snapshot is corrupted: " + numRunways + " runways do not fit in " + source);
+        }
+        if (numFlights < 0 || strings > map.capacity() - Integer.BYTES
+                || flights + (long) numFlights * Snapshot.FLIGHT_RECORD_SIZE > strings) {
+            throw new IOException("Snapshot is corrupted: " + source);
+        }
+    }
+
+    // REQUIRES: the records of the snapshot were checked with checkRecords
+    // EFFECTS: returns the strings of the string table of the snapshot of
+    // source; throws IOException if a count or length of the table does not fit
+    // in the snapshot
+    static String[] readStrings(ByteBuffer map, String source) throws IOException {
+        ByteBuffer table = map.duplicate();
+        table.position((int) map.getLong(Snapshot.STRINGS_OFFSET_POSITION));
+        String[] strings = new String[checkedLength(table, Integer.BYTES, source)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[checkedLength(table, 1, source)];
+            table.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    // MODIFIES: table
+    // EFFECTS: reads a count of items of itemSize bytes from table and returns
+    // it; throws IOException if it is negative or the items cannot fit in what
+    // is left of table
+    static int checkedLength(ByteBuffer table, int itemSize, String source) throws IOException {
+        int length = table.getInt();
+        if (length < 0 || length > table.remaining() / itemSize) {
+            throw new IOException("Snapshot is corrupted: " + source);
+        }
+        return length;
+    }
+
+    // EFFECTS: parses airport from the snapshot and returns it
+    private Airport parseAirport(ByteBuffer map, String[] strings) {
+        String name = strings[map.getInt(Snapshot.NAME_POSITION)];
+        int numRunways = map.getInt(Snapshot.NUM_RUNWAYS_POSITION);
+        Airport airport = new Airport(name, map.getInt(Snapshot.MAX_CAPACITY_POSITION), numRunways);
+        EventLog.getInstance().logEvent(new Event("\tLoading the airport from saved file: " + source));
+        airport.setCurrentCapacity(map.getInt(Snapshot.CURRENT_CAPACITY_POSITION));
+        List<Runway> currentRunways = airport.getRunways();
+        for (int i = 0; i < currentRunways.size(); i++) {
+            currentRunways.get(i).setRunwayID(map.getInt(Snapshot.HEADER_SIZE + i * Snapshot.RUNWAY_RECORD_SIZE));
+        }
+
+        // Parse flights
+        int numFlights = map.getInt(Snapshot.NUM_FLIGHTS_POSITION);
+        int flightsOffset = (int) map.getLong(Snapshot.FLIGHTS_OFFSET_POSITION);
+        List<Flight> flights = new ArrayList<>(numFlights);
+        int firstNumber = Flight.reserveFlightNumbers(numFlights);
+        for (int i = 0; i < numFlights; i++) {
+            int offset = flightsOffset + i * Snapshot.FLIGHT_RECORD_SIZE;
+            flights.add(parseFlight(map, offset, code -> strings[code], firstNumber + i));
+        }
+        airport.addFlights(flights);
+        return airport;
+    }
+
+    // EFFECTS: parses the flight record at offset and returns the flight, with
+    // the given flight number; strings gives the string of each string index
+    static Flight parseFlight(ByteBuffer map, int offset, IntFunction<String> strings, int flightNumber) {
+        String airplaneName = strings.apply(map.getInt(offset + Snapshot.AIRPLANE_NAME));
+        String classification = strings.apply(map.getInt(offset + Snapshot.CLASSIFICATION));
+        int flightType = map.get(offset + Snapshot.TYPE);
+        Flight flight = new Flight(flightNumber, airplaneName, classification, flightType,
+                map.get(offset + Snapshot.AIRPLANE_FUEL));
+        flight.setStatus(map.get(offset + Snapshot.STATUS));
+        flight.setOrigin(strings.apply(map.getInt(offset + Snapshot.ORIGIN)));
+        flight.setDestination(strings.apply(map.getInt(offset + Snapshot.DESTINATION)));
+        if (map.get(offset + Snapshot.IS_COMPLETE) != 0) {
+            flight.setComplete();
+        }
+        return flight;
+    }
+}
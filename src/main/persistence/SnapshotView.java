@@ -0,0 +1,180 @@
+package persistence;
+
+import model.Flight;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+// Represents a read-only view of an airport saved as a binary snapshot (see
+// Snapshot for the layout), made by SnapshotReader.view.
+// Opening a view only checks the header of the file; a flight is decoded from
+// its fixed-width record, found at flightsOffset + i * FLIGHT_RECORD_SIZE, when
+// it is asked for, so showing a page of flights or the results of a search
+// costs as much as the flights shown, whatever the size of the file.
+// The string table is indexed the first time a string is needed. Flights taken
+// from the view are copies: changing them changes neither the file nor the view.
+public class SnapshotView {
+    private final String source;
+    private final ByteBuffer map;
+    private final int numFlights;
+    private final int flightsOffset;
+    private final int stringsOffset;
+    private final List<Flight> flights;
+    private int[] stringOffsets; // position of each string of the table, null until first needed
+
+    // EFFECTS: constructs the view of the snapshot of source, whose header was
+    // checked; throws IOException if the records do not fit in the snapshot
+    SnapshotView(String source, ByteBuffer map) throws IOException {
+        this.source = source;
+        this.map = map;
+        SnapshotReader.checkRecords(map, source);
+        this.numFlights = map.getInt(Snapshot.NUM_FLIGHTS_POSITION);
+        this.flightsOffset = (int) map.getLong(Snapshot.FLIGHTS_OFFSET_POSITION);
+        this.stringsOffset = (int) map.getLong(Snapshot.STRINGS_OFFSET_POSITION);
+        this.flights = new FlightsView(null);
+    }
+
+    public String getName() {
+        return string(map.getInt(Snapshot.NAME_POSITION));
+    }
+
+    public int getMaxCapacity() {
+        return map.getInt(Snapshot.MAX_CAPACITY_POSITION);
+    }
+
+    public int getCurrentCapacity() {
+        return map.getInt(Snapshot.CURRENT_CAPACITY_POSITION);
+    }
+
+    public int getNumRunways() {
+        return map.getInt(Snapshot.NUM_RUNWAYS_POSITION);
+    }
+
+    public int getNumFlights() {
+        return numFlights;
+    }
+
+    // EFFECTS: returns the flights of the airport, in the order of its queue, as
+    // an unmodifiable list that decodes each flight when it is asked for
+    public List<Flight> getFlights() {
+        return flights;
+    }
+
+    // REQUIRES: page >= 0, pageSize > 0
+    // EFFECTS: returns the flights of the given page, when the flights are split
+    // in pages of pageSize flights; the last page may be shorter, and pages past
+    // the end are empty
+    public List<Flight> getPage(int page, int pageSize) {
+        long from = Math.min((long) page * pageSize, numFlights);
+        return flights.subList((int) from, (int) Math.min(from + pageSize, numFlights));
+    }
+
+    // EFFECTS: returns the flights whose airplane name contains part, ignoring
+    // case, in the order of the queue; only the airplane names are decoded, once
+    // each, and the flights found are decoded when they are asked for
+    public List<Flight> searchByAirplaneName(String part) {
+        return new FlightsView(searchIndicesByAirplaneName(part));
+    }
+
+    // EFFECTS: returns the indices in getFlights() of the flights whose airplane
+    // name contains part, ignoring case, in increasing order; no flight is
+    // decoded, only the airplane names, once each
+    public int[] searchIndicesByAirplaneName(String part) {
+        String lowerPart = part.toLowerCase(Locale.ROOT);
+        BitSet matching = new BitSet();
+        BitSet checked = new BitSet();
+        int[] found = new int[16];
+        int numFound = 0;
+        for (int i = 0; i < numFlights; i++) {
+            int code = map.getInt(record(i) + Snapshot.AIRPLANE_NAME);
+            if (!checked.get(code)) {
+                checked.set(code);
+                matching.set(code, string(code).toLowerCase(Locale.ROOT).contains(lowerPart));
+            }
+            if (matching.get(code)) {
+                if (numFound == found.length) {
+                    found = Arrays.copyOf(found, numFound * 2);
+                }
+                found[numFound++] = i;
+            }
+        }
+        return Arrays.copyOf(found, numFound);
+    }
+
+    // EFFECTS: returns the position of the record of flight i
+    private int record(int i) {
+        return flightsOffset + i * Snapshot.FLIGHT_RECORD_SIZE;
+    }
+
+    // EFFECTS: decodes and returns flight i, with the flight number it was saved
+    // with
+    private Flight decode(int i) {
+        int offset = record(i);
+        return SnapshotReader.parseFlight(map, offset, this::string, map.getInt(offset + Snapshot.FLIGHT_NUMBER));
+    }
+
+    // EFFECTS: decodes and returns the string of the string table at index code
+    private String string(int code) {
+        int[] offsets = indexStrings();
+        if (code < 0 || code >= offsets.length) {
+            throw new IllegalStateException("Snapshot is corrupted: " + source);
+        }
+        byte[] bytes = new byte[map.getInt(offsets[code])];
+        map.get(offsets[code] + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the position of every string of the string table, finding
+    // them the first time; throws IllegalStateException if a count or length of
+    // the table does not fit in the snapshot
+    private synchronized int[] indexStrings() {
+        if (stringOffsets == null) {
+            ByteBuffer table = map.duplicate();
+            table.position(stringsOffset);
+            try {
+                int[] offsets = new int[SnapshotReader.checkedLength(table, Integer.BYTES, source)];
+                for (int i = 0; i < offsets.length; i++) {
+                    offsets[i] = table.position();
+                    int length = SnapshotReader.checkedLength(table, 1, source);
+                    table.position(table.position() + length);
+                }
+                stringOffsets = offsets;
+            } catch (IOException | BufferUnderflowException e) {
+                throw new IllegalStateException("Snapshot is corrupted: " + source, e);
+            }
+        }
+        return stringOffsets;
+    }
+
+    // Represents an unmodifiable list of flights of the snapshot, either all of
+    // them or the ones at the given indexes, decoded when they are asked for
+    private class FlightsView extends AbstractList<Flight> implements RandomAccess {
+        private final int[] indexes; // null for all the flights
+
+        FlightsView(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        public Flight get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return decode(indexes == null ? index : indexes[index]);
+        }
+
+        @Override
+        public int size() {
+            return indexes == null ? numFlights : indexes.length;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package persistence;
+
+import model.Airport;
+import model.Event;
+import model.EventLog;
+import model.Flight;
+import model.Runway;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents a writer that saves an Airport to a binary snapshot file (see
+// Snapshot for the layout), through a FileChannel and a reusable buffer.
+// The snapshot is written to a temporary file that replaces the destination
+// file only once it is completely written, when the writer is closed, gzip
+// compressed if the writer was constructed to compress. A compressed snapshot
+// cannot be mapped into memory, so it is slower to read.
+public class SnapshotWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private String destination;
+    private boolean compress;
+    private WritableByteChannel channel;
+    private ByteBuffer buffer;
+    private Map<String, Integer> codes;
+    private List<String> strings;
+    private boolean written;
+
+    // EFFECTS: constructs writer to write to destination file
+    public SnapshotWriter(String destination) {
+        this(destination, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file, gzip compressed
+    // if compress is true
+    public SnapshotWriter(String destination, boolean compress) {
+        this.destination = destination;
+        this.compress = compress;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer; throws IOException if destination file cannot be
+    // opened for writing
+    public void open() throws IOException {
+        FileChannel file = FileChannel.open(Paths.get(AtomicFiles.temporaryFor(destination)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel = compress ? Channels.newChannel(Compression.compressed(Channels.newOutputStream(file), true)) : file;
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        written = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the snapshot of airport to file; throws IOException if it
+    // cannot be written
+    public void write(Airport airport) throws IOException {
+        codes = new HashMap<>();
+        strings = new ArrayList<>();
+        List<Runway> runways = airport.getRunways();
+        List<Flight> flights = airport.getFlightsQueue();
+        long flightsOffset = Snapshot.HEADER_SIZE + (long) runways.size() * Snapshot.RUNWAY_RECORD_SIZE;
+        long stringsOffset = flightsOffset + (long) flights.size() * Snapshot.FLIGHT_RECORD_SIZE;
+        buffer.putInt(Snapshot.MAGIC).putShort(Snapshot.VERSION).putShort((short) 0);
+        buffer.putInt(code(airport.getName())).putInt(airport.getMaxCapacity()).putInt(airport.getCurrentCapacity());
+        buffer.putInt(runways.size()).putInt(flights.size()).putLong(flightsOffset).putLong(stringsOffset);
+        for (Runway runway : runways) {
+            ensure(Snapshot.RUNWAY_RECORD_SIZE);
+            buffer.putInt(runway.getRunwayID()).put((byte) (runway.isOccupied() ? 1 : 0));
+        }
+        for (Flight flight : flights) {
+            writeFlight(flight);
+        }
+        writeStrings();
+        flush();
+        written = true;
+        EventLog.getInstance().logEvent(new Event("\tThe data was saved on the computer at : " + this.destination));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer; if a snapshot was written, it replaces the
+    // destination file, otherwise the destination file is left as it was;
+    // throws IOException if it cannot be closed or put in place
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            written = false;
+            throw e;
+        } finally {
+            if (written) {
+                AtomicFiles.commit(destination);
+            } else {
+                AtomicFiles.discard(destination);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the record of flight
+    private void writeFlight(Flight flight) throws IOException {
+        ensure(Snapshot.FLIGHT_RECORD_SIZE);
+        buffer.putInt(flight.getFlightNumber());
+        buffer.putInt(code(flight.getAirplaneName()));
+        buffer.putInt(code(flight.getClassification()));
+        buffer.putInt(code(flight.getOrigin()));
+        buffer.putInt(code(flight.getDestination()));
+        buffer.put((byte) flight.getType());
+        buffer.put((byte) flight.getStatus());
+        buffer.put((byte) flight.getAirplaneFuel());
+        buffer.put((byte) (flight.isComplete() ? 1 : 0));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the string table
+    private void writeStrings() throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(strings.size());
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ensure(Integer.BYTES);
+            buffer.putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                writeFully(ByteBuffer.wrap(bytes));
+            } else {
+                ensure(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the index of s in the string table, adding it if needed;
+    // null is saved as an empty string
+    private int code(String s) {
+        String value = s == null ? "" : s;
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = strings.size();
+            strings.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes room for size more bytes in the buffer, writing it to the
+    // file if needed
+    private void ensure(int size) throws IOException {
+        if (buffer.remaining() < size) {
+            flush();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the content of the buffer to the file and empties it
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes all the remaining bytes of bytes to the file
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package ui;
 
+import persistence.CsvImporter;
 import persistence.JsonReader;
 import persistence.JsonWriter;
+import persistence.SnapshotReader;
+import persistence.SnapshotWriter;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import model.Airport;
@@ -20,6 +22,7 @@ public class AirportApp {
     private Airport airport;
     private Scanner input;
     private static final String JSON_STORE = "./data/airport.json";
+    private static final String SNAPSHOT_STORE = "./data/airport.snap";
     private JsonWriter jsonWriter;
     private JsonReader jsonReader;
 
@@ -77,6 +80,8 @@ public class AirportApp {
             saveAirport();
         } else if (command == 6) {
             loadAirport();
+        } else if (command == 7) {
+            importSchedule();
         } else {
             System.err.println("\nInvalid input! Please select a valid option.");
         }
@@ -84,25 +89,62 @@ public class AirportApp {
     }
 
     // MODIFIES: this
-    // EFFECTS: loads airport from file
+    // EFFECTS: loads airport from the JSON file or the snapshot, as the user chooses
     private void loadAirport() {
+        boolean snapshot = askSnapshot("load from");
+        String source = snapshot ? SNAPSHOT_STORE : JSON_STORE;
         try {
-            airport = jsonReader.read();
-            System.out.println("\nLoaded " + airport.getName() + " from " + JSON_STORE);
+            airport = snapshot ? new SnapshotReader(source).read() : jsonReader.readStreaming();
+            System.out.println("\nLoaded " + airport.getName() + " from " + source);
         } catch (IOException e) {
-            System.out.println("\nUnable to read from file: " + JSON_STORE);
+            System.out.println("\nUnable to read from file: " + source);
         }
     }
 
-    // EFFECTS: saves the airport to file
+    // EFFECTS: asks the user whether to use a binary snapshot or JSON to action
+    // the airport, and returns true for a snapshot
+    private boolean askSnapshot(String action) {
+        System.out.print("\n\tEnter the format to " + action + ", \"J\" for JSON and \"S\" for a binary snapshot: ");
+        return input.nextLine().toLowerCase().equals("s");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the flights of a CSV schedule file to the airport and prints
+    // the rows that could not be imported
+    private void importSchedule() {
+        System.out.print("\n\tEnter the path of the schedule: ");
+        String source = input.nextLine();
+        try {
+            CsvImporter.Report report = new CsvImporter(source).importInto(airport);
+            for (CsvImporter.RowError error : report.getErrors()) {
+                System.out.println("\t" + error);
+            }
+            System.out.println("\nImported " + report.getNumImported() + " flights, "
+                    + report.getErrors().size() + " rows rejected");
+        } catch (IOException e) {
+            System.out.println("\nUnable to read from file: " + source);
+        }
+    }
+
+    // EFFECTS: saves the airport to the JSON file or the snapshot, as the user
+    // chooses
     private void saveAirport() {
+        boolean snapshot = askSnapshot("save in");
+        String destination = snapshot ? SNAPSHOT_STORE : JSON_STORE;
         try {
-            jsonWriter.open();
-            jsonWriter.write(airport);
-            jsonWriter.close();
-            System.out.println("\nSaved " + airport.getName() + " to " + JSON_STORE);
-        } catch (FileNotFoundException e) {
-            System.out.println("\nUnable to write to file: " + JSON_STORE);
+            if (snapshot) {
+                SnapshotWriter snapshotWriter = new SnapshotWriter(destination);
+                snapshotWriter.open();
+                snapshotWriter.write(airport);
+                snapshotWriter.close();
+            } else {
+                jsonWriter.open();
+                jsonWriter.writeStreaming(airport);
+                jsonWriter.close();
+            }
+            System.out.println("\nSaved " + airport.getName() + " to " + destination);
+        } catch (IOException e) {
+            System.out.println("\nUnable to write to file: " + destination);
         }
     }
 
@@ -114,12 +156,7 @@ public class AirportApp {
         String airplaneName;
         System.out.print("\n\tEnter the airplane name: ");
         airplaneName = input.nextLine();
-        List<Flight> flightsToPrint = new ArrayList<>();
-        for (Flight f : this.airport.getFlightsQueue()) {
-            if (f.getAirplaneName().toLowerCase().equals(airplaneName.toLowerCase())) {
-                flightsToPrint.add(f);
-            }
-        }
+        List<Flight> flightsToPrint = this.airport.findByAirplaneName(airplaneName);
         if (!flightsToPrint.isEmpty()) {
             printFlight(flightsToPrint);
         } else {
@@ -183,6 +220,7 @@ public class AirportApp {
         System.out.println("\t4 -> See the specific plane information");
         System.out.println("\t5 -> Save the airport and its flights to file");
         System.out.println("\t6 -> Load the airport from file");
+        System.out.println("\t7 -> Import flights from a CSV schedule");
         System.out.println("\t0 -> Quit");
         System.out.print("\tYour input: ");
     }
@@ -227,7 +265,7 @@ public class AirportApp {
         origin = input.nextLine();
         System.out.print("\tEnter the destination of the flight: ");
         destination = input.nextLine();
-        Flight flight = new Flight(airplaneName, classification, flightType);
+        Flight flight = new Flight(airplaneName, classification, flightType, airport.getRandom());
         flight.setOrigin(origin);
         flight.setDestination(destination);
         airport.addFlight(flight);
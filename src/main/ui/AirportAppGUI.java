@@ -2,19 +2,27 @@ package ui;
 
 import javax.swing.*;
 import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.util.Locale;
+import java.util.function.Function;
 
 import model.Airport;
 import model.Flight;
-import persistence.JsonReader;
-import persistence.JsonWriter;
-import java.io.IOException;
+import model.SimulationController;
+import persistence.SnapshotReader;
+import persistence.SnapshotView;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
-import javax.swing.table.DefaultTableModel;
 import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
@@ -25,14 +33,21 @@ import javax.swing.text.StyledDocument;
  */
 public class AirportAppGUI extends JFrame {
     private Airport airport;
-    private JsonWriter jsonWriter;
-    private JsonReader jsonReader;
     private static final String JSON_STORE = "./data/airport.json";
+    private static final String SNAPSHOT_STORE = "./data/airport.snap";
+    private static final String[] FORMAT_NAMES = { "JSON", "Snapshot" };
 
     private static final int WIDTH = 800;
     private static final int HEIGHT = 600;
+    private static final int FILTER_DELAY_MILLIS = 300; // the filter waits this long after the last keystroke
+    private static final String[] SPEED_NAMES = { "Unthrottled", "20 rounds/s", "5 rounds/s", "1 round/s" };
+    private static final double[] SPEEDS = { SimulationController.UNTHROTTLED, 20, 5, 1 };
 
-    private JTextPane simulationArea;
+    private SimulationConsole simulationArea;
+    private SimulationController simulation; // the last simulation started, null if none
+    private SimulationWorker simulationWorker; // shows the log of simulation, null if none
+    private JButton pauseButton;
+    private JComboBox<String> speedChooser;
 
     /**
      * Constructor
@@ -40,8 +55,6 @@ public class AirportAppGUI extends JFrame {
      */
     public AirportAppGUI() {
         super("Airport Traffic Control");
-        jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
         runGUI();
     }
 
@@ -200,6 +213,22 @@ public class AirportAppGUI extends JFrame {
         setLayout(new BorderLayout());
         setSize(WIDTH, HEIGHT);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeConsole();
+            }
+        });
+    }
+
+    /*
+     * EFFECTS: Closes the simulation console, writing out what it has not
+     * written yet
+     */
+    private void closeConsole() {
+        if (simulationArea != null) {
+            simulationArea.close();
+        }
     }
 
     /*
@@ -221,6 +250,7 @@ public class AirportAppGUI extends JFrame {
         setupTextArea();
         JScrollPane scrollPane = createScrollPane();
         simulationPanel.add(scrollPane);
+        simulationPanel.add(createSimulationControls());
 
         return simulationPanel;
     }
@@ -230,7 +260,7 @@ public class AirportAppGUI extends JFrame {
      * EFFECTS: Sets up the text area in the simulation panel
      */
     private void setupTextArea() {
-        simulationArea = new JTextPane();
+        simulationArea = new SimulationConsole();
         simulationArea.setEditable(false);
         simulationArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
         simulationArea.setBackground(Color.BLACK);
@@ -285,6 +315,30 @@ public class AirportAppGUI extends JFrame {
 
     }
 
+    /*
+     * MODIFIES: this
+     * EFFECTS: Creates the buttons that pause, step and stop the running
+     * simulation, and the chooser of its speed
+     */
+    private JPanel createSimulationControls() {
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        pauseButton = new JButton("Pause");
+        JButton stepButton = new JButton("Step");
+        JButton stopButton = new JButton("Stop");
+        speedChooser = new JComboBox<>(SPEED_NAMES);
+
+        pauseButton.addActionListener(e -> togglePause());
+        stepButton.addActionListener(e -> stepSimulation());
+        stopButton.addActionListener(e -> stopSimulation());
+        speedChooser.addActionListener(e -> changeSpeed());
+
+        controls.add(pauseButton);
+        controls.add(stepButton);
+        controls.add(stopButton);
+        controls.add(speedChooser);
+        return controls;
+    }
+
     /*
      * EFFECTS: Creates and configures the scroll pane which will be used for the
      * simultion field
@@ -327,7 +381,7 @@ public class AirportAppGUI extends JFrame {
                 new JButton("Add Flight"), new JButton("Show All Flights"),
                 new JButton("Save Airport"), new JButton("Search Flight"),
                 new JButton("Start Simulation"), new JButton("Load Airport"),
-                new JButton("Exit App")
+                new JButton("Open Snapshot"), new JButton("Exit App")
         };
         buttonStyle(buttons[0], 26, 158, 0);
         buttonStyle(buttons[1], 0, 110, 7);
@@ -335,7 +389,8 @@ public class AirportAppGUI extends JFrame {
         buttonStyle(buttons[3], 124, 0, 232);
         buttonStyle(buttons[4], 232, 162, 0);
         buttonStyle(buttons[5], 9, 33, 105);
-        buttonStyle(buttons[6], 189, 16, 0);
+        buttonStyle(buttons[6], 0, 84, 110);
+        buttonStyle(buttons[7], 189, 16, 0);
 
         for (JButton button : buttons) {
             buttonPanel.add(button); // Add to panel
@@ -347,7 +402,8 @@ public class AirportAppGUI extends JFrame {
         buttons[3].addActionListener(e -> searchAirplane());
         buttons[4].addActionListener(e -> startSimulation());
         buttons[5].addActionListener(e -> loadAirport());
-        buttons[6].addActionListener(e -> exitApp());
+        buttons[6].addActionListener(e -> openSnapshot());
+        buttons[7].addActionListener(e -> exitApp());
     }
 
     /*
@@ -376,45 +432,155 @@ public class AirportAppGUI extends JFrame {
                 JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
 
         if (option == JOptionPane.YES_OPTION) {
+            stopSimulationAndWait(); // the airport is saved as it was at the end of a round
             saveAirport();
         }
+        closeConsole();
         this.airport.quitApplication();
         System.exit(0);
     }
 
     /*
      * MODIFIES: this
-     * EFFECTS: loads airport from file
+     * EFFECTS: loads airport from file in the background, showing its progress
      */
     private void loadAirport() {
+        int format = chooseFormat("Load the airport from");
+        if (format < 0) {
+            return;
+        }
+        boolean snapshot = format == 1;
+        LoadWorker worker = new LoadWorker(snapshot ? SNAPSHOT_STORE : JSON_STORE, snapshot);
+        runWithProgress(worker, "Loading the airport...");
         try {
-            airport = jsonReader.read();
+            airport = worker.get();
             String airportName = airport.getName();
             JOptionPane.showMessageDialog(null, "Airport «" + airportName + "» loaded successfully!");
             setTitle(airportName.toUpperCase() + " Airport Traffic Control");
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(null, "Failed to load airport: " + e.getMessage(), "Error",
+        } catch (ExecutionException e) {
+            JOptionPane.showMessageDialog(null, "Failed to load airport: " + e.getCause().getMessage(), "Error",
                     JOptionPane.ERROR_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /*
-     * EFFECTS: saves the airport to file
+     * EFFECTS: lets the user choose a saved snapshot, such as the one Save
+     * Airport saves, and shows its flights in a table without loading the
+     * airport: the snapshot is opened as a SnapshotView, which only decodes the
+     * flights the table shows
+     */
+    private void openSnapshot() {
+        JFileChooser chooser = new JFileChooser("./data");
+        chooser.setFileFilter(new FileNameExtensionFilter("Airport snapshots", "snap", "gz"));
+        File saved = new File(SNAPSHOT_STORE);
+        if (saved.exists()) {
+            chooser.setSelectedFile(saved);
+        }
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String source = chooser.getSelectedFile().getPath();
+        SwingWorker<SnapshotView, Void> worker = new SwingWorker<SnapshotView, Void>() {
+            @Override
+            protected SnapshotView doInBackground() throws Exception {
+                return new SnapshotReader(source).view(); // compressed snapshots are decompressed here
+            }
+        };
+        runWithProgress(worker, "Opening the snapshot...");
+        try {
+            SnapshotView view = worker.get();
+            displayFlightTable(new FlightTableModel(view.getFlights()), view::searchIndicesByAirplaneName,
+                    view.getName() + " (" + chooser.getSelectedFile().getName() + ")");
+        } catch (ExecutionException e) {
+            JOptionPane.showMessageDialog(null, "Failed to open the snapshot: " + e.getCause().getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * EFFECTS: saves the airport to file in the background, showing its
+     * progress, unless a simulation is changing it; the file is left as it was
+     * if the airport cannot be saved
      */
     private void saveAirport() {
+        if (isSimulationActive(null, "saving")) {
+            return;
+        }
+        int format = chooseFormat("Save the airport as");
+        if (format < 0) {
+            return;
+        }
+        boolean snapshot = format == 1;
+        SaveWorker worker = new SaveWorker(airport, snapshot ? SNAPSHOT_STORE : JSON_STORE, snapshot);
+        runWithProgress(worker, "Saving the airport...");
         try {
-            jsonWriter.open();
-            jsonWriter.write(airport);
-            jsonWriter.close();
+            worker.get();
             String airportName = airport.getName();
             JOptionPane.showMessageDialog(null, "Airport «" + airportName + "» saved successfully!");
-
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(null, "Failed to save the airport: " + e.getMessage(), "Error",
+        } catch (ExecutionException e) {
+            JOptionPane.showMessageDialog(null, "Failed to save the airport: " + e.getCause().getMessage(), "Error",
                     JOptionPane.ERROR_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
+    /*
+     * EFFECTS: asks the user to choose between JSON and a binary snapshot and
+     * returns the index of the choice in FORMAT_NAMES, or -1 if the dialog was
+     * closed; a snapshot is smaller and much faster to load, and can be opened
+     * with Open Snapshot
+     */
+    private int chooseFormat(String question) {
+        return JOptionPane.showOptionDialog(this, question + ":", "File Format", JOptionPane.DEFAULT_OPTION,
+                JOptionPane.QUESTION_MESSAGE, null, FORMAT_NAMES, FORMAT_NAMES[0]);
+    }
+
+    /*
+     * EFFECTS: runs worker in the background and shows its progress in a modal
+     * dialog until it is done; the window keeps being painted meanwhile but
+     * does not take input, so the airport is not changed while it is used
+     */
+    private void runWithProgress(SwingWorker<?, ?> worker, String message) {
+        JProgressBar progressBar = new JProgressBar(0, 100);
+        JDialog dialog = createProgressDialog(progressBar, message);
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                progressBar.setValue((Integer) e.getNewValue());
+            } else if (worker.isDone()) {
+                dialog.dispose();
+            }
+        });
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                if (worker.isDone()) {
+                    dialog.dispose(); // finished before the dialog was shown
+                }
+            }
+        });
+        worker.execute();
+        dialog.setVisible(true);
+    }
+
+    /*
+     * EFFECTS: returns a modal dialog titled message showing progressBar, that
+     * the user cannot close
+     */
+    private JDialog createProgressDialog(JProgressBar progressBar, String message) {
+        progressBar.setStringPainted(true);
+        JDialog dialog = new JDialog(this, message, true);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.add(progressBar);
+        dialog.setSize(300, 80);
+        dialog.setLocationRelativeTo(this);
+        return dialog;
+    }
+
     /*
      * EFFECTS: Shows the window to add a flight
      */
@@ -518,6 +684,9 @@ public class AirportAppGUI extends JFrame {
     private void handleAddFlightAction(JPanel panel, JRadioButton arrivalRadioButton,
             JTextField airplaneNameField, JComboBox<String> classificationComboBox,
             JTextField originField, JTextField destinationField, ButtonGroup flightTypeGroup) {
+        if (isSimulationActive(panel, "adding flights")) {
+            return;
+        }
         int flightType = arrivalRadioButton.isSelected() ? Flight.TYPE_ARIVAL : Flight.TYPE_DEPARTURE;
         String airplaneName = airplaneNameField.getText();
         String classification = (String) classificationComboBox.getSelectedItem();
@@ -525,7 +694,7 @@ public class AirportAppGUI extends JFrame {
         String destination = destinationField.getText();
 
         if (!airplaneName.isEmpty() && !origin.isEmpty() && !destination.isEmpty()) {
-            Flight flight = new Flight(airplaneName, classification, flightType);
+            Flight flight = new Flight(airplaneName, classification, flightType, airport.getRandom());
             flight.setOrigin(origin);
             flight.setDestination(destination);
             airport.addFlight(flight);
@@ -550,9 +719,94 @@ public class AirportAppGUI extends JFrame {
      * EFFECTS: Starts the simulation process with a delay and animated dots
      */
     private void startSimulation() {
-        simulationArea.setText(""); // Clear previous content
-        SimulationWorker worker = new SimulationWorker(simulationArea, airport);
-        worker.execute();
+        if (isSimulationActive(null, "starting a new one")) {
+            return;
+        }
+        if (simulationWorker != null) {
+            simulationWorker.discard(); // the last run must not write into the new one
+        }
+        simulationArea.clear(); // Clear previous content
+        simulation = new SimulationController(airport);
+        simulation.setRoundsPerSecond(SPEEDS[speedChooser.getSelectedIndex()]);
+        pauseButton.setText("Pause");
+        simulationWorker = new SimulationWorker(simulationArea, simulation);
+        simulationWorker.execute();
+    }
+
+    /*
+     * EFFECTS: Returns true and tells the user to stop the simulation before
+     * doing what action says, if a simulation is running or paused, or is
+     * stopping but its last round is not over, since only the simulation may
+     * change the airport while it is active
+     */
+    private boolean isSimulationActive(Component parent, String action) {
+        if (simulation == null || simulation.isStopped()) {
+            return false;
+        }
+        JOptionPane.showMessageDialog(parent, "A simulation is running. Stop it before " + action + ".",
+                "Simulation", JOptionPane.INFORMATION_MESSAGE);
+        return true;
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Pauses the running simulation, or resumes it if it is paused
+     */
+    private void togglePause() {
+        if (simulation == null) {
+            return;
+        }
+        if (simulation.getState() == SimulationController.STATE_PAUSED) {
+            simulation.resume();
+            pauseButton.setText("Pause");
+        } else if (simulation.getState() == SimulationController.STATE_RUNNING) {
+            simulation.pause();
+            pauseButton.setText("Resume");
+        }
+    }
+
+    /*
+     * EFFECTS: Runs one round of the simulation, if it is paused
+     */
+    private void stepSimulation() {
+        if (simulation != null) {
+            simulation.step();
+        }
+    }
+
+    /*
+     * EFFECTS: Stops the simulation after the round in progress
+     */
+    private void stopSimulation() {
+        if (simulation != null) {
+            simulation.cancel();
+            pauseButton.setText("Pause");
+        }
+    }
+
+    /*
+     * EFFECTS: Stops the simulation, if any, and waits for the round in
+     * progress to finish
+     */
+    private void stopSimulationAndWait() {
+        if (simulation == null) {
+            return;
+        }
+        simulation.cancel();
+        try {
+            simulation.awaitStop(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * EFFECTS: Sets the speed of the simulation to the chosen one
+     */
+    private void changeSpeed() {
+        if (simulation != null) {
+            simulation.setRoundsPerSecond(SPEEDS[speedChooser.getSelectedIndex()]);
+        }
     }
 
     /*
@@ -565,18 +819,9 @@ public class AirportAppGUI extends JFrame {
                 JOptionPane.QUESTION_MESSAGE);
 
         if (airplaneName != null && !airplaneName.trim().isEmpty()) {
-            List<Flight> searchResults = airport.getFlightsQueue().stream()
-                    .filter(f -> f.getAirplaneName().toLowerCase().contains(airplaneName.toLowerCase()))
-                    .collect(Collectors.toList());
-            List<Flight> allFlights = airport.getFlightsQueue();
-            List<Flight> searchResult = new ArrayList<>();
-            for (Flight f : allFlights) {
-                if (f.getAirplaneName().toLowerCase().contains(airplaneName.toLowerCase())) {
-                    searchResult.add(f);
-                }
-            }
+            FlightTableModel searchResults = new FlightTableModel(airport.searchByAirplaneName(airplaneName));
 
-            if (!searchResults.isEmpty()) {
+            if (searchResults.getRowCount() > 0) {
                 displaySearchResults(searchResults);
             } else {
                 JOptionPane.showMessageDialog(null,
@@ -589,47 +834,89 @@ public class AirportAppGUI extends JFrame {
 
     /*
      * EFFECTS: Creates and displays a table showing flight information in a new
-     * window
-     */
-    private void displayFlightTable(List<Flight> flights, String title) {
-        String[] columnNames = { "Flight #", "Type", "Airplane", "Origin", "Destination", "Class", "Status",
-                "Completed?", "Fuel" };
-        DefaultTableModel tableModel = new DefaultTableModel(columnNames, 0);
-        for (Flight f : flights) {
-            Object[] row = { f.getFlightNumber(),
-                    f.getType() == Flight.TYPE_ARIVAL ? "Arrival" : "Departure",
-                    f.getAirplaneName(),
-                    f.getOrigin(),
-                    f.getDestination(),
-                    f.getClassification(),
-                    f.getPrintableStatus(),
-                    f.isComplete() ? "Yes" : "No",
-                    f.getAirplaneFuel()
-            };
-            tableModel.addRow(row);
-        }
+     * window; the rows are read from the model as they are shown, clicking
+     * a column header sorts the flights by that column and typing in the filter
+     * field above the table shows only the flights whose airplane name contains
+     * the text, ignoring case; search finds the indexes of those flights in an
+     * index, or is null to test every flight of the table instead
+     */
+    private void displayFlightTable(FlightTableModel tableModel, Function<String, int[]> search, String title) {
         JTable flightTable = new JTable(tableModel);
+        flightTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = flightTable.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    tableModel.sortBy(flightTable.convertColumnIndexToModel(column));
+                }
+            }
+        });
         JScrollPane scrollPane = new JScrollPane(flightTable);
 
         JFrame flightTableFrame = new JFrame(title);
         flightTableFrame.setSize(800, 400);
+        flightTableFrame.add(createFilterPanel(tableModel, search), BorderLayout.NORTH);
         flightTableFrame.add(scrollPane);
         flightTableFrame.setLocationRelativeTo(null);
         flightTableFrame.setVisible(true);
     }
 
+    /*
+     * EFFECTS: Returns a panel with a field that filters the flights of
+     * tableModel by airplane name once the user stops typing for
+     * FILTER_DELAY_MILLIS; the flights are looked up with search, or tested one
+     * by one if search is null
+     */
+    private JPanel createFilterPanel(FlightTableModel tableModel, Function<String, int[]> search) {
+        JTextField filterField = new JTextField(20);
+        Timer filterTimer = new Timer(FILTER_DELAY_MILLIS, e -> {
+            String part = filterField.getText().trim();
+            if (part.isEmpty()) {
+                tableModel.setShownFlights(null);
+            } else if (search != null) {
+                tableModel.setShownFlights(search.apply(part));
+            } else {
+                String lowerPart = part.toLowerCase(Locale.ROOT); // as in the name indexes
+                tableModel.setFilter(flight -> flight.getAirplaneName() != null
+                        && flight.getAirplaneName().toLowerCase(Locale.ROOT).contains(lowerPart));
+            }
+        });
+        filterTimer.setRepeats(false);
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                filterTimer.restart();
+            }
+        });
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Filter by airplane:"));
+        filterPanel.add(filterField);
+        return filterPanel;
+    }
+
     /**
      * EFFECTS: Shows all flights in the current airport schedule
      */
     private void viewAllFlights() {
-        displayFlightTable(airport.getFlightsQueue(), "All Flights");
+        displayFlightTable(new FlightTableModel(airport.getFlightsQueue()), airport::searchIndicesByAirplaneName,
+                "All Flights");
     }
 
     /**
      * EFFECTS: Shows all flights in the current airport schedule
      */
-    private void displaySearchResults(List<Flight> flights) {
-        displayFlightTable(flights, "Search Results");
+    private void displaySearchResults(FlightTableModel searchResults) {
+        displayFlightTable(searchResults, null, "Search Results");
     }
 
 
@@ -0,0 +1,221 @@
+package ui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import model.Flight;
+
+/**
+ * The FlightTableModel class is a read-only table model over a list of flights,
+ * such as the flights queue of an airport or the flights of a SnapshotView.
+ * Rows are read from the list only when the table paints them, so opening a
+ * table costs the same whatever the number of flights. Filtering and sorting
+ * keep the indexes of the shown flights in an int array instead of copying
+ * the flights.
+ */
+public class FlightTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = { "Flight #", "Type", "Airplane", "Origin", "Destination",
+            "Class", "Status", "Completed?", "Fuel" };
+    private static final int FLIGHT_NUMBER_COLUMN = 0;
+    private static final int FUEL_COLUMN = 8;
+
+    private final List<Flight> flights;
+    private int[] rows; // index in flights of each row, null while every flight is shown in order
+    private Predicate<Flight> filter;
+    private int[] foundRows; // indexes of the flights to show instead of filter, null if not given
+    private int sortColumn = -1;
+    private boolean ascending = true;
+
+    /**
+     * Constructs a FlightTableModel that shows every flight of flights, in
+     * their order.
+     */
+    public FlightTableModel(List<Flight> flights) {
+        this.flights = flights;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows == null ? flights.size() : rows.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == FLIGHT_NUMBER_COLUMN || column == FUEL_COLUMN ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return valueOf(getFlightAt(row), column);
+    }
+
+    /**
+     * REQUIRES: 0 <= row < getRowCount()
+     * EFFECTS: Returns the flight shown at row.
+     */
+    public Flight getFlightAt(int row) {
+        return flights.get(rows == null ? row : rows[row]);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Shows only the flights that filter accepts, or every flight if
+     * filter is null, keeping the current sort order.
+     */
+    public void setFilter(Predicate<Flight> filter) {
+        this.filter = filter;
+        this.foundRows = null;
+        update();
+    }
+
+    /**
+     * REQUIRES: indexes are indexes of the list, in increasing order
+     * MODIFIES: this
+     * EFFECTS: Shows only the flights at indexes of the list, such as the ones
+     * found by a search of an index, or every flight if indexes is null, keeping
+     * the current sort order. Unlike setFilter, no flight is read from the list.
+     */
+    public void setShownFlights(int[] indexes) {
+        this.filter = null;
+        this.foundRows = indexes;
+        update();
+    }
+
+    /**
+     * REQUIRES: 0 <= column < getColumnCount()
+     * MODIFIES: this
+     * EFFECTS: Sorts the shown flights by column, ascending the first time and
+     * toggling the order if it was already sorted by column. Flights with equal
+     * values keep their order in the list.
+     */
+    public void sortBy(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        update();
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Recomputes the rows from the shown flights or the filter and the
+     * sort order and notifies the table.
+     */
+    private void update() {
+        if (foundRows != null) {
+            rows = foundRows.clone();
+        } else {
+            rows = filter == null && sortColumn < 0 ? null : filteredRows();
+        }
+        if (sortColumn >= 0 && rows.length > 1) {
+            sortRows();
+        }
+        fireTableDataChanged();
+    }
+
+    /*
+     * EFFECTS: Returns the indexes of the flights the filter accepts, in order.
+     */
+    private int[] filteredRows() {
+        int[] found = new int[flights.size()];
+        int numFound = 0;
+        for (int i = 0; i < found.length; i++) {
+            if (filter == null || filter.test(flights.get(i))) {
+                found[numFound++] = i;
+            }
+        }
+        return numFound == found.length ? found : Arrays.copyOf(found, numFound);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Sorts the rows by the value of their flight in the sort column,
+     * with a stable merge sort over the indexes. Each shown flight is read from
+     * the list once.
+     */
+    private void sortRows() {
+        Flight[] shown = new Flight[flights.size()];
+        for (int row : rows) {
+            shown[row] = flights.get(row);
+        }
+        Comparator<Flight> order = comparatorOf(sortColumn);
+        mergeSort(rows, rows.clone(), 0, rows.length, shown, ascending ? order : order.reversed());
+    }
+
+    /*
+     * REQUIRES: from < to, buffer holds the same values as rows between from
+     * and to
+     * MODIFIES: rows, buffer
+     * EFFECTS: Sorts rows from from (inclusive) to to (exclusive) by order of
+     * their flights in shown.
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, Flight[] shown,
+            Comparator<Flight> order) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(buffer, rows, from, middle, shown, order);
+        mergeSort(buffer, rows, middle, to, shown, order);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && order.compare(shown[buffer[left]], shown[buffer[right]]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    /*
+     * EFFECTS: Returns the ascending order of flights by their value in column,
+     * an empty cell coming first.
+     */
+    private static Comparator<Flight> comparatorOf(int column) {
+        if (column == FLIGHT_NUMBER_COLUMN) {
+            return Comparator.comparingInt(Flight::getFlightNumber);
+        }
+        if (column == FUEL_COLUMN) {
+            return Comparator.comparingInt(Flight::getAirplaneFuel);
+        }
+        return Comparator.comparing(flight -> (String) valueOf(flight, column),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    /*
+     * EFFECTS: Returns the value of flight shown in column.
+     */
+    private static Object valueOf(Flight flight, int column) {
+        switch (column) {
+            case 0:
+                return flight.getFlightNumber();
+            case 1:
+                return flight.getType() == Flight.TYPE_ARIVAL ? "Arrival" : "Departure";
+            case 2:
+                return flight.getAirplaneName();
+            case 3:
+                return flight.getOrigin();
+            case 4:
+                return flight.getDestination();
+            case 5:
+                return flight.getClassification();
+            case 6:
+                return flight.getPrintableStatus();
+            case 7:
+                return flight.isComplete() ? "Yes" : "No";
+            default:
+                return flight.getAirplaneFuel();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ui;
+
+import javax.swing.*;
+import model.Airport;
+import persistence.JsonReader;
+import persistence.SnapshotReader;
+
+/**
+ * The LoadWorker class extends SwingWorker to load an airport from a JSON file,
+ * or from a binary snapshot, in the background, reporting the percentage of a
+ * JSON file read as its progress.
+ */
+public class LoadWorker extends SwingWorker<Airport, Void> {
+    private final String source;
+    private final boolean snapshot;
+
+    /**
+     * Constructs a LoadWorker that loads the airport from the source JSON file.
+     */
+    public LoadWorker(String source) {
+        this(source, false);
+    }
+
+    /**
+     * Constructs a LoadWorker that loads the airport from the source file, a
+     * binary snapshot if snapshot is true and JSON otherwise.
+     */
+    public LoadWorker(String source, boolean snapshot) {
+        this.source = source;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * EFFECTS: Loads the airport from the source file and returns it, throws
+     * IOException if it cannot be read.
+     */
+    @Override
+    protected Airport doInBackground() throws Exception {
+        if (snapshot) {
+            return new SnapshotReader(source).read();
+        }
+        JsonReader reader = new JsonReader(source);
+        reader.setProgressListener(this::setProgress);
+        return reader.readStreaming();
+    }
+}
@@ -0,0 +1,63 @@
+package ui;
+
+import javax.swing.*;
+import model.Airport;
+import persistence.JsonWriter;
+import persistence.SnapshotWriter;
+
+/**
+ * The SaveWorker class extends SwingWorker to save an airport to a JSON file, or
+ * to a binary snapshot, in the background, reporting the percentage of the
+ * flights written to a JSON file as its progress. The file is only replaced once
+ * the airport is completely written.
+ */
+public class SaveWorker extends SwingWorker<Void, Void> {
+    private final Airport airport;
+    private final String destination;
+    private final boolean snapshot;
+
+    /**
+     * Constructs a SaveWorker that saves the airport to the destination JSON file.
+     */
+    public SaveWorker(Airport airport, String destination) {
+        this(airport, destination, false);
+    }
+
+    /**
+     * Constructs a SaveWorker that saves the airport to the destination file, as
+     * a binary snapshot if snapshot is true and as JSON otherwise.
+     */
+    public SaveWorker(Airport airport, String destination, boolean snapshot) {
+        this.airport = airport;
+        this.destination = destination;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * REQUIRES: The airport must not be changed until the worker is done.
+     * EFFECTS: Saves the airport to the destination file, throws IOException if
+     * it cannot be saved, leaving the file as it was.
+     */
+    @Override
+    protected Void doInBackground() throws Exception {
+        if (snapshot) {
+            SnapshotWriter writer = new SnapshotWriter(destination);
+            writer.open();
+            try {
+                writer.write(airport);
+            } finally {
+                writer.close();
+            }
+            return null;
+        }
+        JsonWriter writer = new JsonWriter(destination);
+        writer.setProgressListener(this::setProgress);
+        writer.open();
+        try {
+            writer.writeStreaming(airport);
+        } finally {
+            writer.close();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,218 @@
+package ui;
+
+import javax.swing.*;
+import javax.swing.text.*;
+import java.awt.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The SimulationConsole class is the JTextPane that shows the log of the
+ * simulation. Text appended during an event is inserted in a single batch
+ * after it, one insert per run of text with the same style, with styles that
+ * are built once. Only the last maxLines lines are kept: older lines are
+ * dropped, or written to a spill file if one is set, a tenth of maxLines at a
+ * time, so appending and scrolling cost the same however long the simulation
+ * runs.
+ */
+public class SimulationConsole extends JTextPane {
+    public static final int DEFAULT_MAX_LINES = 10_000;
+
+    private final int maxLines;
+    private final Style normalStyle;
+    private final Style roundStyle;
+    private final Style reportStyle;
+    private final Style crashStyle;
+    private final List<StringBuilder> batchTexts;
+    private final List<Style> batchStyles;
+    private boolean flushScheduled;
+    private String spillFile;
+    private Writer spill;
+
+    /**
+     * Constructs a SimulationConsole that keeps the default number of lines.
+     */
+    public SimulationConsole() {
+        this(DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * REQUIRES: maxLines >= 10
+     * EFFECTS: Constructs a SimulationConsole that keeps the last maxLines lines.
+     */
+    public SimulationConsole(int maxLines) {
+        this.maxLines = maxLines;
+        this.normalStyle = addStyle("SimulationNormal", null);
+        StyleConstants.setForeground(normalStyle, Color.GREEN);
+        this.roundStyle = addStyle("SimulationRound", null);
+        StyleConstants.setForeground(roundStyle, Color.WHITE);
+        this.reportStyle = addStyle("SimulationReport", null);
+        StyleConstants.setForeground(reportStyle, new Color(0, 221, 255));
+        this.crashStyle = addStyle("SimulationCrash", null);
+        StyleConstants.setBold(crashStyle, true);
+        StyleConstants.setForeground(crashStyle, Color.RED);
+        this.batchTexts = new ArrayList<>();
+        this.batchStyles = new ArrayList<>();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Writes the lines dropped from now on to the end of file, or drops
+     * them if file is null.
+     */
+    public void setSpillFile(String file) {
+        closeSpill();
+        this.spillFile = file;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Appends a log entry of the simulation, styled by what it reports:
+     * crashes in bold red, rounds in white, report headers in cyan and anything
+     * else in green. Must be called on the event dispatch thread.
+     */
+    public void append(String text) {
+        if (text.toLowerCase(Locale.ROOT).contains("crashed")) {
+            append(text, crashStyle);
+        } else if (text.contains("Round")) {
+            append(text, roundStyle);
+        } else if (text.contains("report")) {
+            append(text, reportStyle);
+        } else {
+            append(text, normalStyle);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Appends an error message in bold red. Must be called on the event
+     * dispatch thread.
+     */
+    public void appendError(String text) {
+        append(text, crashStyle);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Removes all the text, including text appended but not shown yet.
+     */
+    public void clear() {
+        batchTexts.clear();
+        batchStyles.clear();
+        setText("");
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Inserts the text appended so far and closes the spill file, so
+     * no dropped line is lost when the console is discarded or the application
+     * exits. Lines dropped later reopen the spill file. Must be called on the
+     * event dispatch thread.
+     */
+    public void close() {
+        if (flushScheduled) {
+            flush();
+        }
+        closeSpill();
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Adds text to the batch, to the last run if it has the same style,
+     * and schedules the batch to be inserted after the current event.
+     */
+    private void append(String text, Style style) {
+        int last = batchStyles.size() - 1;
+        if (last >= 0 && batchStyles.get(last) == style) {
+            batchTexts.get(last).append(text);
+        } else {
+            batchTexts.add(new StringBuilder(text));
+            batchStyles.add(style);
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Inserts the batch at the end of the document, drops the oldest
+     * lines if there are too many and scrolls to the end.
+     */
+    private void flush() {
+        flushScheduled = false;
+        StyledDocument doc = getStyledDocument();
+        try {
+            for (int i = 0; i < batchTexts.size(); i++) {
+                doc.insertString(doc.getLength(), batchTexts.get(i).toString(), batchStyles.get(i));
+            }
+            trim(doc);
+        } catch (BadLocationException e) {
+            e.printStackTrace();
+        }
+        batchTexts.clear();
+        batchStyles.clear();
+        setCaretPosition(doc.getLength());
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: If doc has more than maxLines lines, removes the oldest ones
+     * down to nine tenths of maxLines, writing them to the spill file if set.
+     */
+    private void trim(StyledDocument doc) throws BadLocationException {
+        Element root = doc.getDefaultRootElement();
+        int lines = root.getElementCount();
+        if (lines <= maxLines) {
+            return;
+        }
+        int end = root.getElement(lines - maxLines + maxLines / 10).getStartOffset();
+        if (spillFile != null) {
+            spill(doc.getText(0, end));
+        }
+        doc.remove(0, end);
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Appends text to the spill file; stops spilling if it cannot be
+     * written.
+     */
+    private void spill(String text) {
+        try {
+            if (spill == null) {
+                spill = Files.newBufferedWriter(Paths.get(spillFile), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            spill.write(text);
+            spill.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+            closeSpill();
+            spillFile = null;
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Closes the spill file, if open.
+     */
+    private void closeSpill() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            spill = null;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package ui;
 
 import javax.swing.*;
-import javax.swing.text.*;
-import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import model.Airport;
+import java.util.concurrent.TimeUnit;
+import model.SimulationController;
 
 // Referenced from the codementor
 // https://www.codementor.io/@isaib.cicourel/swingworker-in-java-du1084lyl
@@ -15,97 +16,189 @@ import model.Airport;
 /**
  * The SimulationWorker class extends SwingWorker to manage and execute the 
  * simulation of an airport's flight processing in the background, updating the 
- * provided JTextPane with the progress.
+ * provided SimulationConsole with the progress.
+ * The rounds are run by a SimulationController, which can pause, step, throttle
+ * or cancel the run while the worker waits for it to stop.
+ * The log of each round is published as soon as the round is processed and is
+ * played back in the console at a fixed rate while the simulation is slow
+ * enough. When it is faster, every tick of the playback also shows a share of
+ * the entries waiting, in a single batch, so the playback stays about
+ * MAX_DELAY_SECONDS behind the simulation and no entry is lost: the console
+ * keeps its own bounded tail of the log. At most MAX_PENDING entries wait to be
+ * played back; when more are published, the oldest are shown at once in a
+ * single batch of the console, so an unthrottled simulation cannot fill the
+ * memory with entries waiting.
  */
 public class SimulationWorker extends SwingWorker<Void, String> {
-    private final JTextPane simulationArea;
-    private final Airport airport;
+    public static final int DEFAULT_PLAYBACK_RATE = 20; // entries per second
+    public static final int MAX_PENDING = SimulationConsole.DEFAULT_MAX_LINES; // entries waiting to be shown
+    private static final int TICK_MILLIS = 50;
+    private static final int MAX_DELAY_SECONDS = 5;
+    private static final int TICKS_PER_DELAY = MAX_DELAY_SECONDS * 1000 / TICK_MILLIS;
+
+    private final SimulationConsole simulationArea;
+    private final SimulationController controller;
+    private final int playbackRate;
+    private final Deque<String> pending; // published but not shown yet, only used on the EDT
+    private final Timer playbackTimer;
+    private double credit; // entries that may be shown by now but were not
+    private boolean finished; // the rest of the log is shown at once, only used on the EDT
+    private boolean discarded; // nothing more is shown, only used on the EDT
+
+    /**
+     * Constructs a SimulationWorker with a specified SimulationConsole for
+     * output and a SimulationController that is not started yet to run the
+     * rounds, played back at the default rate.
+     */
+    public SimulationWorker(SimulationConsole simulationArea, SimulationController controller) {
+        this(simulationArea, controller, DEFAULT_PLAYBACK_RATE);
+    }
 
     /**
-     * Constructs a SimulationWorker with a specified JTextPane for output and an
-     * Airport model for processing.
+     * REQUIRES: playbackRate >= 0, controller is not started yet
+     * EFFECTS: Constructs a SimulationWorker with a specified SimulationConsole
+     * for output and a SimulationController to run the rounds, that shows
+     * playbackRate log entries per second, or every entry as soon as it is
+     * published if playbackRate is 0.
      */
-    public SimulationWorker(JTextPane simulationArea, Airport airport) {
+    public SimulationWorker(SimulationConsole simulationArea, SimulationController controller, int playbackRate) {
         this.simulationArea = simulationArea;
-        this.airport = airport;
+        this.controller = controller;
+        this.playbackRate = playbackRate;
+        this.pending = new ArrayDeque<>();
+        this.playbackTimer = new Timer(TICK_MILLIS, e -> playBack());
     }
 
     /**
      * 
      * MODIFIES:this
      * REQUIRES: The airport instance should be properly initialized and not null.
-     * EFFECTS: Runs the airport simulation in the background, publishing progress
-     * messages and log entries to be displayed in the JTextPane.
+     * EFFECTS: Starts the run of the controller and waits for it to stop,
+     * publishing the log entries of each round as soon as it is processed, to
+     * be displayed in the SimulationConsole. Throws IllegalStateException if
+     * the airport already has an active run, or what made the run fail.
      */
     @Override
     protected Void doInBackground() throws Exception {
-        publish("Starting simulation");
-        for (int i = 0; i < 5; i++) {
-            publish(".");
-            Thread.sleep(500);
+        String name = controller.getAirport().getName();
+        publish("Starting simulation", ".", ".", ".", ".", ".", "\n");
+        publish(String.format("\n---------- The report of %s airport ----------\n", name));
+        try {
+            controller.start((airport, round, logs) -> publishRound(logs));
+        } catch (IllegalStateException e) {
+            controller.cancel(); // so the controller does not look like it is still about to run
+            throw e;
         }
-        publish("\n");
 
-        while (!airport.isDone()) {
-            airport.processFlightsOneRound();
+        controller.awaitStop(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        if (controller.getState() == SimulationController.STATE_FAILED) {
+            throw controller.getFailure();
+        } else if (controller.getState() == SimulationController.STATE_CANCELLED) {
+            publish(String.format("\n---------- Simulation of %s stopped after %d rounds ----------\n", name,
+                    controller.getRoundsProcessed()));
+        } else {
+            publish(String.format("\n---------- End of the %s airport report ----------\n", name));
         }
-        publish(String.format("\n---------- The report of %s airport ----------\n", airport.getName()));
+        return null;
+    }
 
-        for (String log : airport.flushLogEntries()) {
-            Thread.sleep(350);
-            publish(log + "\n");
+    /*
+     * EFFECTS: Publishes the log entries of a round, one line each.
+     */
+    private void publishRound(List<String> logs) {
+        String[] entries = new String[logs.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = logs.get(i) + "\n";
         }
-        publish(String.format("\n---------- End of the %s airport report ----------\n", airport.getName()));
-        return null;
+        publish(entries);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Stops playing back the log and shows nothing more of it in the
+     * console, e.g. before the console is cleared for another run. Must be
+     * called on the event dispatch thread.
+     */
+    public void discard() {
+        discarded = true;
+        pending.clear();
+        playbackTimer.stop();
     }
 
     /**
      * MODIFIES: this
-     * EFFECTS: Processes a list of published strings and appends them to the
-     * JTextPane with specific styling.
+     * EFFECTS: Queues the published entries to be played back, or shows them at
+     * once if the worker is done. Entries beyond the last MAX_PENDING waiting
+     * are shown at once.
      */
     @Override
     protected void process(List<String> chunks) {
-        StyledDocument doc = simulationArea.getStyledDocument();
-        Style style = simulationArea.addStyle("ColorStyle", null);
+        if (discarded) {
+            return;
+        }
+        pending.addAll(chunks);
+        if (finished) {
+            showPending(pending.size()); // published just before the end
+            return;
+        }
+        if (pending.size() > MAX_PENDING) {
+            showPending(pending.size() - MAX_PENDING);
+        }
+        if (!playbackTimer.isRunning()) {
+            playbackTimer.start();
+        }
+    }
+
+    /*
+     * MODIFIES: this
+     * EFFECTS: Shows the entries that are due at the playback rate, or at least
+     * a TICKS_PER_DELAY-th of the entries waiting, and stops the timer once
+     * there is nothing left to show.
+     */
+    private void playBack() {
+        if (pending.isEmpty()) {
+            credit = 0;
+            playbackTimer.stop();
+            return;
+        }
+        int count = pending.size();
+        if (playbackRate > 0) {
+            credit += playbackRate * TICK_MILLIS / 1000.0;
+            count = Math.max((int) credit, (pending.size() + TICKS_PER_DELAY - 1) / TICKS_PER_DELAY);
+            credit -= Math.min(count, (int) credit);
+        }
+        showPending(count);
+    }
 
-        for (String text : chunks) {
-            try {
-                if (text.toLowerCase().contains("crashed")) {
-                    StyleConstants.setBold(style, true);
-                    StyleConstants.setForeground(style, Color.RED);
-                } else if (text.contains("Round")) {
-                    StyleConstants.setForeground(style, Color.WHITE);
-                } else if (text.contains("report")) {
-                    StyleConstants.setForeground(style, new Color(0, 221, 255));
-                } else {
-                    StyleConstants.setForeground(style, Color.GREEN);
-                }
-                doc.insertString(doc.getLength(), text, style);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    /*
+     * MODIFIES: this
+     * EFFECTS: Shows up to count of the entries waiting, oldest first.
+     */
+    private void showPending(int count) {
+        for (int i = Math.min(count, pending.size()); i > 0; i--) {
+            simulationArea.append(pending.poll());
         }
-        simulationArea.setCaretPosition(simulationArea.getDocument().getLength());
     }
 
     /**
      * 
-     * EFFECTS: Called when the background task is done. Handles any exceptions that occurred during the execution.
+     * EFFECTS: Called when the background task is done. Shows the entries that
+     * were not played back yet and stops the playback, then handles any
+     * exceptions that occurred during the execution.
      */
     @Override
     protected void done() {
+        if (discarded) {
+            return;
+        }
+        finished = true;
+        playbackTimer.stop();
+        showPending(pending.size());
         try {
             get();
         } catch (Exception ex) {
-            try {
-                StyledDocument doc = simulationArea.getStyledDocument();
-                doc.insertString(doc.getLength(),
-                        "\nAn error occurred during the simulation: " + ex.getMessage(),
-                        simulationArea.getStyle("ColorStyle"));
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            simulationArea.appendError("\nAn error occurred during the simulation: " + cause.getMessage());
         }
     }
 }
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 public class AirportTest {
     private Airport airport;
@@ -103,13 +105,15 @@ public class AirportTest {
 
         airport.processFlightsOneRound();
         assertEquals(90, departure5.getAirplaneFuel());
-        assertEquals(arrival1, airport.getFlightsQueue().getFirst());   // put in front for emergency landing
+        assertEquals(arrival1, airport.getEmergencyLane().getFirst());   // put in front for emergency landing
+        assertEquals(departure1, airport.getFlightsQueue().getFirst());  // schedule order is kept
         assertFalse(arrival1.isComplete());
 
         airport.processFlightsOneRound();
         assertTrue(arrival1.isComplete());
         assertEquals(100, departure5.getAirplaneFuel());    // refueled
-        assertEquals(departure5, airport.getFlightsQueue().getFirst());   // put in front for emergency takeoff
+        assertEquals(departure5, airport.getEmergencyLane().getFirst());   // put in front for emergency takeoff
+        assertEquals(departure4, airport.getEmergencyLane().getLast());
         assertFalse(departure5.isComplete());
     }
 
@@ -131,11 +135,44 @@ public class AirportTest {
         airport.addFlight(arrival5);
         airport.addFlight(arrival6);
         airport.processFlightsOneRound();
-        assertEquals(arrival6, airport.getFlightsQueue().get(0));
-        assertEquals(arrival5, airport.getFlightsQueue().get(1));
-        assertEquals(arrival4, airport.getFlightsQueue().get(2));
+        List<Flight> emergencies = new ArrayList<>(airport.getEmergencyLane());
+        assertEquals(3, emergencies.size());
+        assertEquals(arrival6, emergencies.get(0));
+        assertEquals(arrival5, emergencies.get(1));
+        assertEquals(arrival4, emergencies.get(2));
         assertEquals(0, arrival4.getAirplaneFuel());
         airport.processFlightsOneRound();
+        assertTrue(arrival6.isComplete());
+        assertTrue(arrival5.isComplete());
+        assertEquals("Crashed!", arrival4.getPrintableStatus());
+        assertFalse(airport.getEmergencyLane().contains(arrival4));
+    }
+
+    @Test
+    void testEmergencyLaneOrderAcrossRounds() {
+        Airport smallAirport = new Airport("YVR", 10, 1);
+        Flight departure1 = new Flight("B757-1", "passenger", Flight.TYPE_DEPARTURE);
+        Flight departure2 = new Flight("B757-2", "passenger", Flight.TYPE_DEPARTURE);
+        Flight departure3 = new Flight("B757-3", "passenger", Flight.TYPE_DEPARTURE);
+        departure2.setAirplaneFuel(90);
+        departure3.setAirplaneFuel(90);
+        smallAirport.addFlight(departure1);
+        smallAirport.addFlight(departure2);
+        smallAirport.addFlight(departure3);
+
+        smallAirport.processFlightsOneRound();
+        assertTrue(departure1.isComplete());
+        assertEquals(departure3, smallAirport.getEmergencyLane().getFirst());
+        assertEquals(departure2, smallAirport.getEmergencyLane().getLast());
+
+        smallAirport.processFlightsOneRound();
+        assertTrue(departure3.isComplete());
+        assertEquals(90, departure2.getAirplaneFuel()); // refueled, then stalled again
+        assertEquals(departure2, smallAirport.getEmergencyLane().getFirst());
+
+        smallAirport.processFlightsOneRound();
+        assertTrue(departure2.isComplete());
+        assertTrue(smallAirport.isDone());
     }
 
     @Test
@@ -177,6 +214,216 @@ public class AirportTest {
         airport.processFlightsOneRound();
         log = airport.flushLogEntries();
         assertTrue(log.size() != 0);
+        assertEquals("\n\tRound 1 ", log.get(0));
+        assertTrue(airport.flushLogEntries().isEmpty());
+    }
+
+    @Test
+    void testRoundLogDisabled() {
+        airport.setRoundLogEnabled(false);
+        airport.addFlight(new Flight("B757-1", "passenger", Flight.TYPE_ARIVAL));
+        airport.processFlightsOneRound();
+        assertEquals(0, airport.getRoundLog().size());
+        assertTrue(airport.flushLogEntries().isEmpty());
+        assertTrue(airport.isDone());
+    }
+
+    @Test
+    void testActiveFlightsBookkeeping() {
+        Flight arrival = new Flight("B757-1", "passenger", Flight.TYPE_ARIVAL);
+        Flight departure = new Flight("B757-2", "passenger", Flight.TYPE_DEPARTURE);
+        Flight completed = new Flight("B757-3", "passenger", Flight.TYPE_DEPARTURE);
+        completed.setComplete();
+        airport.addFlight(arrival);
+        airport.addFlight(departure);
+        airport.addFlight(completed);
+        assertEquals(3, airport.getFlightsQueue().size());
+        assertEquals(2, airport.getNumActiveFlights());
+        assertFalse(airport.isDone());
+
+        airport.processFlightsOneRound();
+        assertEquals(0, airport.getNumActiveFlights());
+        assertTrue(airport.isDone());
+        assertEquals(3, airport.getFlightsQueue().size());
+    }
+
+    @Test
+    void testActiveFlightsAfterCrash() {
+        Airport smallAirport = new Airport("YVR", 0, 1);
+        Flight arrival = new Flight("B757-1", "passenger", Flight.TYPE_ARIVAL);
+        arrival.setAirplaneFuel(0);
+        smallAirport.addFlight(arrival);
+        assertEquals(1, smallAirport.getNumActiveFlights());
 
+        smallAirport.processFlightsOneRound();
+        assertEquals("Crashed!", arrival.getPrintableStatus());
+        assertEquals(0, smallAirport.getNumActiveFlights());
+        assertTrue(smallAirport.isDone());
+    }
+
+    @Test
+    void testColumnarAirport() {
+        FlightStore store = new FlightStore();
+        Airport columnar = new Airport("YVR", 1, 1, store);
+        Airport objects = new Airport("YVR", 1, 1);
+        assertEquals(store, columnar.getFlightStore());
+        assertNull(objects.getFlightStore());
+        for (int i = 0; i < 6; i++) {
+            int type = i % 3 == 0 ? Flight.TYPE_DEPARTURE : Flight.TYPE_ARIVAL;
+            Flight f1 = new Flight("B757-" + i, "passenger", type);
+            Flight f2 = new Flight("B757-" + i, "passenger", type);
+            f2.setAirplaneFuel(f1.getAirplaneFuel());
+            columnar.addFlight(f1);
+            objects.addFlight(f2);
+        }
+        assertEquals(6, store.size());
+        while (!objects.isDone()) {
+            objects.processFlightsOneRound();
+            columnar.processFlightsOneRound();
+        }
+        assertTrue(columnar.isDone());
+        List<String> expectedLog = objects.flushLogEntries();
+        List<String> actualLog = columnar.flushLogEntries();
+        assertEquals(expectedLog.size(), actualLog.size());
+        for (int i = 0; i < expectedLog.size(); i++) { // runway ids are unique to each airport
+            assertEquals(expectedLog.get(i).replaceAll("runway \\d+", "runway"),
+                    actualLog.get(i).replaceAll("runway \\d+", "runway"));
+        }
+        for (int i = 0; i < 6; i++) {
+            Flight expected = objects.getFlightsQueue().get(i);
+            Flight actual = columnar.getFlightsQueue().get(i);
+            assertEquals(expected.getPrintableStatus(), actual.getPrintableStatus());
+            assertEquals(expected.getAirplaneFuel(), actual.getAirplaneFuel());
+        }
+    }
+
+    @Test
+    void testSeededAirportsReproduce() {
+        Airport airport1 = new Airport("YVR", 1, 1);
+        Airport airport2 = new Airport("YVR", 1, 1);
+        airport1.setSeed(7);
+        airport2.setSeed(7);
+        for (int i = 0; i < 8; i++) {
+            airport1.addFlight(new Flight("B757-" + i, "passenger", Flight.TYPE_ARIVAL, airport1.getRandom()));
+            airport2.addFlight(new Flight("B757-" + i, "passenger", Flight.TYPE_ARIVAL, airport2.getRandom()));
+        }
+        while (!airport1.isDone()) {
+            airport1.processFlightsOneRound();
+            airport2.processFlightsOneRound();
+        }
+        assertTrue(airport2.isDone());
+        for (int i = 0; i < 8; i++) {
+            Flight expected = airport1.getFlightsQueue().get(i);
+            Flight actual = airport2.getFlightsQueue().get(i);
+            assertEquals(expected.getPrintableStatus(), actual.getPrintableStatus());
+            assertEquals(expected.getAirplaneFuel(), actual.getAirplaneFuel());
+        }
+        SplittableRandom random = new SplittableRandom(1);
+        airport1.setRandom(random);
+        assertEquals(random, airport1.getRandom());
+    }
+
+    @Test
+    void testAddFlights() {
+        List<String> added = new ArrayList<>();
+        airport.addListener(new AirportListener() {
+            @Override
+            public void flightAdded(Airport airport, int index, Flight flight) {
+                added.add(index + " " + flight.getAirplaneName());
+            }
+
+            @Override
+            public void flightUpdated(Airport airport, int index, Flight flight) {
+            }
+
+            @Override
+            public void roundProcessed(Airport airport, int round) {
+            }
+        });
+        airport.addFlight(new Flight("B757-0", "passenger", Flight.TYPE_ARIVAL));
+        Flight complete = new Flight("B757-2", "passenger", Flight.TYPE_DEPARTURE);
+        complete.setComplete();
+        EventLog.getInstance().clear();
+        airport.addFlights(List.of(new Flight("B757-1", "passenger", Flight.TYPE_ARIVAL), complete));
+
+        assertEquals(3, airport.getFlightsQueue().size());
+        assertEquals("B757-2", airport.getFlightsQueue().get(2).getAirplaneName());
+        assertEquals(2, airport.getNumActiveFlights());
+        assertEquals(List.of("0 B757-0", "1 B757-1", "2 B757-2"), added);
+        List<String> events = new ArrayList<>();
+        for (Event event : EventLog.getInstance()) {
+            events.add(event.getDescription());
+        }
+        assertEquals(List.of("Event log cleared.", "\t2 flights added to the airport"), events);
+
+        Airport columnar = new Airport("YVR", 1, 1, new FlightStore(1));
+        columnar.addFlights(new ArrayList<>(airport.getFlightsQueue()));
+        assertEquals(3, columnar.getFlightStore().size());
+        assertEquals("B757-1", columnar.getFlightsQueue().get(1).getAirplaneName());
+        assertEquals(2, columnar.getNumActiveFlights());
+    }
+
+    @Test
+    void testListeners() {
+        List<String> changes = new ArrayList<>();
+        AirportListener listener = new AirportListener() {
+            @Override
+            public void flightAdded(Airport airport, int index, Flight flight) {
+                changes.add("added " + index);
+            }
+
+            @Override
+            public void flightUpdated(Airport airport, int index, Flight flight) {
+                changes.add("updated " + index);
+            }
+
+            @Override
+            public void roundProcessed(Airport airport, int round) {
+                changes.add("round " + round);
+            }
+        };
+        airport.addListener(listener);
+        airport.addFlight(new Flight("B757-1", "passenger", Flight.TYPE_DEPARTURE));
+        airport.processFlightsOneRound();
+        airport.processFlightsOneRound();
+        airport.removeListener(listener);
+        airport.addFlight(new Flight("B757-2", "passenger", Flight.TYPE_DEPARTURE));
+        assertEquals(List.of("added 0", "updated 0", "round 1", "round 2"), changes);
+    }
+
+    @Test
+    void testRestore() {
+        Flight arrival = new Flight("B757-1", "passenger", Flight.TYPE_ARIVAL);
+        airport.addFlight(arrival);
+        airport.addFlight(new Flight("B757-2", "passenger", Flight.TYPE_DEPARTURE));
+        airport.restoreFlight(0, Flight.STATUS_LANDING, 35, false);
+        assertEquals("Landing", arrival.getPrintableStatus());
+        assertEquals(35, arrival.getAirplaneFuel());
+        assertEquals(2, airport.getNumActiveFlights());
+        airport.restoreFlight(0, Flight.STATUS_PARKED, 35, true);
+        airport.restoreFlight(0, Flight.STATUS_PARKED, 35, true);
+        assertTrue(arrival.isComplete());
+        assertEquals(1, airport.getNumActiveFlights());
+        airport.restoreRound(4, 9);
+        assertEquals(4, airport.currentRound());
+        assertEquals(9, airport.getCurrentCapacity());
+        airport.processFlightsOneRound();
+        assertEquals(5, airport.currentRound());
+        assertTrue(airport.isDone());
+    }
+
+    @Test
+    void testSearchByAirplaneName() {
+        Flight first = new Flight("B757-1", "passenger", Flight.TYPE_DEPARTURE);
+        airport.addFlight(first);
+        airport.addFlight(new Flight("A320-1", "passenger", Flight.TYPE_ARIVAL));
+        Flight third = new Flight("b757-2", "passenger", Flight.TYPE_DEPARTURE);
+        airport.addFlight(third);
+        assertEquals(List.of(first, third), airport.searchByAirplaneName("B757"));
+        assertEquals(List.of(third), airport.findByAirplaneName("B757-2"));
+        assertTrue(airport.findByAirplaneName("B757").isEmpty());
+        assertTrue(airport.searchByAirplaneName("747").isEmpty());
+        assertArrayEquals(new int[] { 0, 2 }, airport.searchIndicesByAirplaneName("b757"));
+        assertArrayEquals(new int[0], airport.searchIndicesByAirplaneName("747"));
     }
 }
@@ -1,11 +1,16 @@
 package model;
 
+import model.logging.MemoryEventSink;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -32,6 +37,13 @@ public class EventLogTest {
         el.logEvent(e3);
     }
 
+    @AfterEach
+    public void restoreLog() {
+        EventLog el = EventLog.getInstance();
+        el.stopDrainer();
+        el.configure(EventLog.DEFAULT_CAPACITY, EventLog.OverflowPolicy.DROP_OLDEST);
+    }
+
     @Test
     public void testLogEvent() {
         List<Event> l = new ArrayList<Event>();
@@ -55,4 +67,130 @@ public class EventLogTest {
         assertEquals("Event log cleared.", itr.next().getDescription());
         assertFalse(itr.hasNext());
     }
+
+    @Test
+    public void testConfigure() {
+        EventLog el = EventLog.getInstance();
+        el.configure(5, EventLog.OverflowPolicy.DROP_NEWEST);
+        assertEquals(8, el.getCapacity()); // rounded up to a power of two
+        assertEquals(EventLog.OverflowPolicy.DROP_NEWEST, el.getOverflowPolicy());
+        assertFalse(el.iterator().hasNext());
+        assertEquals(0, el.getDroppedCount());
+    }
+
+    @Test
+    public void testDropOldest() {
+        EventLog el = EventLog.getInstance();
+        el.configure(4, EventLog.OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 6; i++) {
+            el.logEvent(new Event("E" + i));
+        }
+        List<String> l = descriptions(el);
+        assertEquals(List.of("E2", "E3", "E4", "E5"), l);
+        assertEquals(2, el.getDroppedCount());
+    }
+
+    @Test
+    public void testDropNewest() {
+        EventLog el = EventLog.getInstance();
+        el.configure(4, EventLog.OverflowPolicy.DROP_NEWEST);
+        MemoryEventSink sink = new MemoryEventSink();
+        el.startDrainer(60_000, sink);
+        for (int i = 0; i < 6; i++) {
+            el.logEvent(new Event("E" + i));
+        }
+        assertEquals(List.of("E0", "E1", "E2", "E3"), descriptions(el));
+        assertEquals(2, el.getDroppedCount());
+
+        el.flush(); // makes room again
+        el.logEvent(new Event("E6"));
+        assertEquals(List.of("E1", "E2", "E3", "E6"), descriptions(el));
+        assertEquals(2, el.getDroppedCount());
+    }
+
+    @Test
+    public void testDropNewestWithoutDrainer() {
+        EventLog el = EventLog.getInstance();
+        el.configure(4, EventLog.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 6; i++) {
+            el.logEvent(new Event("E" + i));
+        }
+        assertEquals(List.of("E2", "E3", "E4", "E5"), descriptions(el)); // nothing would make room
+        assertEquals(2, el.getDroppedCount());
+
+        MemoryEventSink sink = new MemoryEventSink();
+        el.startDrainer(60_000, sink);
+        el.logEvent(new Event("E6")); // the buffer is still full
+        el.flush();
+        assertEquals(List.of("E2", "E3", "E4", "E5"), descriptions(sink.getEvents()));
+        el.logEvent(new Event("E7"));
+        el.stopDrainer();
+        assertEquals(List.of("E2", "E3", "E4", "E5", "E7"), descriptions(sink.getEvents()));
+        assertEquals(3, el.getDroppedCount());
+    }
+
+    @Test
+    public void testDrainer() {
+        EventLog el = EventLog.getInstance();
+        el.configure(16, EventLog.OverflowPolicy.DROP_OLDEST);
+        MemoryEventSink sink = new MemoryEventSink();
+        el.logEvent(e1);
+        el.startDrainer(10, sink);
+        el.logEvent(e2);
+        el.flush();
+        assertEquals(List.of(e1, e2), sink.getEvents());
+        el.logEvent(e3);
+        el.stopDrainer(); // drains what is left
+        assertEquals(List.of(e1, e2, e3), sink.getEvents());
+        el.stopDrainer(); // not running
+    }
+
+    @Test
+    public void testConcurrentLogEvent() throws InterruptedException {
+        EventLog el = EventLog.getInstance();
+        el.configure(1 << 12, EventLog.OverflowPolicy.DROP_OLDEST);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    el.logEvent(new Event("concurrent"));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(4000, descriptions(el).size());
+        assertEquals(0, el.getDroppedCount());
+    }
+
+    @Test
+    public void testConfigureWhileLogging() throws InterruptedException {
+        EventLog el = EventLog.getInstance();
+        el.configure(1 << 12, EventLog.OverflowPolicy.DROP_NEWEST);
+        MemoryEventSink sink = new MemoryEventSink();
+        el.startDrainer(60_000, sink);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    el.logEvent(new Event("concurrent"));
+                }
+            });
+        }
+        for (int i = 0; i < 100; i++) {
+            el.configure(1 << 12, EventLog.OverflowPolicy.DROP_NEWEST); // hands the old events to the sink
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        el.stopDrainer();
+        assertEquals(4000, sink.getEvents().size());
+    }
+
+    private List<String> descriptions(Iterable<Event> el) {
+        List<String> l = new ArrayList<>();
+        for (Event next : el) {
+            l.add(next.getDescription());
+        }
+        return l;
+    }
 }
@@ -1,12 +1,14 @@
 package model;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.Calendar;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Referenced from the AlarmSystem
@@ -14,27 +16,76 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * Unit tests for the Event class
  */
 public class EventTest {
+    private static final long START = 1732558680000L;
+    private SimulatedClock clock;
     private Event e;
     private Date d;
 
-    // NOTE: these tests might fail if time at which line (2) below is executed
-    // is different from time that line (1) is executed. Lines (1) and (2) must
-    // run in same millisecond for this test to make sense and pass.
+    // NOTE: events are time stamped with a simulated clock, so the date of the
+    // event is known in advance and does not depend on when the test runs.
 
     @BeforeEach
     public void runBefore() {
-        e = new Event("Airport added"); // (1)
-        d = Calendar.getInstance().getTime(); // (2)
+        clock = new SimulatedClock(START);
+        Event.setClock(clock);
+        e = new Event("Airport added");
+        d = new Date(START);
+    }
+
+    @AfterEach
+    public void runAfter() {
+        Event.setClock(EventClock.WALL);
     }
 
     @Test
     public void testEvent() {
         assertEquals("Airport added", e.getDescription());
         assertEquals(d, e.getDate());
+        assertEquals(START, e.getTimestamp());
+        assertEquals(clock, Event.getClock());
     }
 
     @Test
     public void testToString() {
         assertEquals(d.toString() + "\n" + "Airport added", e.toString());
     }
+
+    @Test
+    public void testEquals() {
+        Event same = new Event("Airport added");
+        assertEquals(e, same);
+        assertEquals(e.hashCode(), same.hashCode());
+        assertEquals(d.hashCode() * 13 + "Airport added".hashCode(), e.hashCode());
+        clock.advance(1000);
+        assertNotEquals(e, new Event("Airport added"));
+        assertNotEquals(e, new Event("Runway added"));
+        assertNotEquals(e, null);
+        assertNotEquals(e, "Airport added");
+    }
+
+    @Test
+    public void testSimulatedClock() {
+        assertEquals(START + 500, clock.advance(500));
+        assertEquals(START + 500, new Event("Round 1").getTimestamp());
+        clock.setTime(START);
+        assertEquals(START, clock.currentTimeMillis());
+    }
+
+    @Test
+    public void testWallClock() {
+        Event.setClock(EventClock.WALL);
+        long before = System.currentTimeMillis();
+        Event now = new Event("Airport added");
+        long after = System.currentTimeMillis();
+        assertTrue(before <= now.getTimestamp() && now.getTimestamp() <= after);
+    }
+
+    @Test
+    public void testMonotonicClock() {
+        EventClock monotonic = EventClock.monotonic();
+        long first = monotonic.currentTimeMillis();
+        long second = monotonic.currentTimeMillis();
+        assertTrue(first <= second);
+        assertTrue(Math.abs(first - System.currentTimeMillis()) < 1000);
+    }
 }
@@ -0,0 +1,65 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightLaneTest {
+    private FlightLane lane;
+
+    @BeforeEach
+    public void runBefore() {
+        lane = new FlightLane(2);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertTrue(lane.isEmpty());
+        assertEquals(0, lane.size());
+        assertEquals(FlightLane.NONE, lane.peekFirst());
+        assertTrue(new FlightLane().isEmpty());
+    }
+
+    @Test
+    public void testAddBothEnds() {
+        lane.addLast(1);
+        lane.addFirst(0);
+        lane.addLast(2); // grows
+        lane.addFirst(-5);
+        assertEquals(4, lane.size());
+        assertFalse(lane.isEmpty());
+        assertEquals(-5, lane.peekFirst());
+        assertEquals(-5, lane.get(0));
+        assertEquals(0, lane.get(1));
+        assertEquals(1, lane.get(2));
+        assertEquals(2, lane.get(3));
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        lane.addLast(1);
+        lane.addFirst(0);
+        lane.ensureCapacity(100);
+        lane.ensureCapacity(1); // already has room
+        for (int i = 2; i < 100; i++) {
+            lane.addLast(i);
+        }
+        assertEquals(100, lane.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, lane.get(i));
+        }
+    }
+
+    @Test
+    public void testAddAll() {
+        FlightLane other = new FlightLane(0);
+        other.addLast(7);
+        other.addFirst(6);
+        lane.addLast(5);
+        lane.addAll(other);
+        assertEquals(3, lane.size());
+        assertEquals(5, lane.get(0));
+        assertEquals(6, lane.get(1));
+        assertEquals(7, lane.get(2));
+    }
+}
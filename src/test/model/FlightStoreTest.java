@@ -0,0 +1,117 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class FlightStoreTest {
+    private FlightStore store;
+    private Flight arrival;
+    private Flight departure;
+
+    @BeforeEach
+    public void runBefore() {
+        store = new FlightStore(1);
+        arrival = new Flight("B747-1", "Commercial", Flight.TYPE_ARIVAL);
+        arrival.setOrigin("Seattle");
+        arrival.setDestination("Vancouver");
+        departure = new Flight("B747-1", "Commercial", Flight.TYPE_DEPARTURE);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0, store.size());
+        assertEquals(0, store.asList().size());
+        assertEquals(0, new FlightStore().size());
+    }
+
+    @Test
+    public void testAdd() {
+        int fuel = arrival.getAirplaneFuel();
+        int number = arrival.getFlightNumber();
+        assertEquals(0, store.add(arrival));
+        assertEquals(1, store.add(departure)); // grows past initial capacity
+        assertEquals(2, store.size());
+        assertEquals(store, arrival.getStore());
+
+        Flight view = store.get(0);
+        assertEquals(number, view.getFlightNumber());
+        assertEquals("B747-1", view.getAirplaneName());
+        assertEquals("Commercial", view.getClassification());
+        assertEquals("Seattle", view.getOrigin());
+        assertEquals("Vancouver", view.getDestination());
+        assertEquals(Flight.TYPE_ARIVAL, view.getType());
+        assertEquals("In Air", view.getPrintableStatus());
+        assertEquals(fuel, view.getAirplaneFuel());
+        assertFalse(view.isComplete());
+        assertEquals(Flight.TYPE_DEPARTURE, store.get(1).getType());
+        assertEquals(6, store.getDictionarySize()); // shared airplane name, classification and defaults
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        store.add(arrival);
+        store.ensureCapacity(10);
+        store.ensureCapacity(2); // already has room
+        store.add(departure);
+        assertEquals(2, store.size());
+        assertEquals("Seattle", store.get(0).getOrigin());
+        assertEquals(Flight.TYPE_DEPARTURE, store.get(1).getType());
+    }
+
+    @Test
+    public void testBoundFlightWritesStore() {
+        store.add(arrival);
+        arrival.setAirplaneFuel(15);
+        arrival.stall();
+        arrival.setStatus(Flight.STATUS_LANDING);
+        arrival.setAirplaneName("A320");
+        arrival.setClassification("Cargo");
+        arrival.setOrigin("Calgary");
+        arrival.setDestination("Toronto");
+        arrival.setComplete();
+
+        Flight view = store.get(0);
+        assertEquals(5, view.getAirplaneFuel());
+        assertFalse(view.canStall());
+        assertEquals("Landing", view.getPrintableStatus());
+        assertEquals("A320", view.getAirplaneName());
+        assertEquals("Cargo", view.getClassification());
+        assertEquals("Calgary", view.getOrigin());
+        assertEquals("Toronto", view.getDestination());
+        assertTrue(view.isComplete());
+        assertEquals(arrival.toJson().toString(), view.toJson().toString());
+    }
+
+    @Test
+    public void testViewEquality() {
+        store.add(arrival);
+        store.add(departure);
+        assertEquals(arrival, store.get(0));
+        assertEquals(store.get(0), store.get(0));
+        assertEquals(store.get(0).hashCode(), arrival.hashCode());
+        assertNotEquals(store.get(0), store.get(1));
+        assertNotEquals(store.get(0), new FlightStore().asList());
+        Flight standalone = new Flight("B747-1", "Commercial", Flight.TYPE_DEPARTURE);
+        assertNotEquals(standalone, store.get(1));
+        assertEquals(standalone, standalone);
+    }
+
+    @Test
+    public void testAsList() {
+        List<Flight> flights = store.asList();
+        flights.add(arrival);
+        flights.add(departure);
+        assertEquals(2, store.size());
+        assertEquals(departure, flights.get(1));
+        assertEquals(arrival, flights.getFirst());
+        try {
+            flights.get(2);
+            fail("Expected IndexOutOfBoundsException was not thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.SplittableRandom;
+
 public class FlightTest {
     private Flight arrivalFlight;
     private Flight departureFlight;
@@ -28,6 +30,42 @@ public class FlightTest {
         assertTrue(arrivalFlight.getFlightNumber() >= 100);
     }
 
+    @Test
+    void testSeededConstructor() {
+        SplittableRandom random1 = new SplittableRandom(42);
+        SplittableRandom random2 = new SplittableRandom(42);
+        for (int i = 0; i < 50; i++) {
+            Flight f1 = new Flight("B747-1", "commercial", Flight.TYPE_ARIVAL, random1);
+            Flight f2 = new Flight("B747-1", "commercial", Flight.TYPE_ARIVAL, random2);
+            assertEquals(f1.getAirplaneFuel(), f2.getAirplaneFuel());
+            assertTrue(f1.getAirplaneFuel() >= 20);
+            assertTrue(f1.getAirplaneFuel() <= 79);
+        }
+        Flight departure = new Flight("B747-1", "commercial", Flight.TYPE_DEPARTURE, random1);
+        assertEquals(Flight.MAX_AIRPLANE_FUEL, departure.getAirplaneFuel());
+    }
+
+    @Test
+    void testRestoringConstructor() {
+        int first = Flight.reserveFlightNumbers(3);
+        Flight next = new Flight("B747-1", "commercial", Flight.TYPE_DEPARTURE);
+        assertEquals(first + 3, next.getFlightNumber());
+        Flight arrival = new Flight(first + 1, "B747-2", "cargo", Flight.TYPE_ARIVAL, 5);
+        assertEquals(first + 1, arrival.getFlightNumber());
+        assertEquals("B747-2", arrival.getAirplaneName());
+        assertEquals(5, arrival.getAirplaneFuel());
+        assertEquals(Flight.STATUS_IN_AIR, arrival.getStatus());
+        assertFalse(arrival.isComplete());
+        Flight departure = new Flight(first + 2, "B747-3", "cargo", Flight.TYPE_DEPARTURE, 90);
+        assertEquals(Flight.STATUS_PARKED, departure.getStatus());
+        assertEquals(90, departure.getAirplaneFuel());
+        assertEquals(0, new Flight(first, "B747-4", "cargo", Flight.TYPE_ARIVAL, 0).getAirplaneFuel());
+        assertThrows(IllegalArgumentException.class,
+                () -> new Flight(first, "B747-4", "cargo", Flight.TYPE_ARIVAL, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Flight(first, "B747-4", "cargo", Flight.TYPE_ARIVAL, Flight.MAX_AIRPLANE_FUEL + 1));
+    }
+
     @Test
     void testSetters() {
         arrivalFlight.setAirplaneName("1234");
@@ -0,0 +1,47 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntListTest {
+    private IntList list;
+
+    @BeforeEach
+    public void runBefore() {
+        list = new IntList(2);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0, list.size());
+        assertEquals(-1, list.last());
+        assertArrayEquals(new int[0], list.toArray());
+        assertEquals(0, new IntList().size());
+    }
+
+    @Test
+    public void testAdd() {
+        list.add(4);
+        list.add(2);
+        list.add(7); // grows
+        assertEquals(3, list.size());
+        assertEquals(4, list.get(0));
+        assertEquals(2, list.get(1));
+        assertEquals(7, list.get(2));
+        assertEquals(7, list.last());
+        assertArrayEquals(new int[] {4, 2, 7}, list.toArray());
+    }
+
+    @Test
+    public void testAddAll() {
+        IntList other = new IntList();
+        for (int i = 0; i < 5; i++) {
+            other.add(i);
+        }
+        list.add(9);
+        list.addAll(other); // grows past double the capacity
+        list.addAll(new IntList());
+        assertArrayEquals(new int[] {9, 0, 1, 2, 3, 4}, list.toArray());
+    }
+}
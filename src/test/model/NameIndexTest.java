@@ -0,0 +1,83 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameIndexTest {
+    private List<Flight> flights;
+    private NameIndex index;
+
+    @BeforeEach
+    public void runBefore() {
+        flights = new ArrayList<>();
+        index = new NameIndex(flights);
+        add("Boeing 737");
+        add("Airbus A320");
+        add("boeing 747");
+        add("BOEING 737");
+    }
+
+    @Test
+    public void testSearch() {
+        assertArrayEquals(new int[] {0, 2, 3}, index.search("Boeing"));
+        assertArrayEquals(new int[] {0, 3}, index.search("ING 73"));
+        assertArrayEquals(new int[] {1}, index.search("a32"));
+        assertArrayEquals(new int[0], index.search("Cessna"));
+        assertArrayEquals(new int[0], index.search("737 boeing")); // every trigram is known
+    }
+
+    @Test
+    public void testSearchShortText() {
+        assertArrayEquals(new int[] {1}, index.search("bu"));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, index.search("I"));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, index.search(""));
+    }
+
+    @Test
+    public void testFind() {
+        assertArrayEquals(new int[] {0, 3}, index.find("boeing 737"));
+        assertArrayEquals(new int[] {1}, index.find("AIRBUS A320"));
+        assertArrayEquals(new int[0], index.find("Boeing"));
+    }
+
+    @Test
+    public void testSearchIgnoresDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr")); // where "I" lowers to a dotless i
+        try {
+            assertArrayEquals(new int[] {0, 2, 3}, index.search("BOEING"));
+            assertArrayEquals(new int[] {1}, index.find("AIRBUS A320"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testFlightsAddedAfterSearch() {
+        assertArrayEquals(new int[] {1}, index.search("Airbus"));
+        add("Airbus A380");
+        add("Airbus A320");
+        assertArrayEquals(new int[] {1, 4, 5}, index.search("airbus"));
+        assertArrayEquals(new int[] {1, 5}, index.find("Airbus A320"));
+    }
+
+    @Test
+    public void testFlightsAt() {
+        List<Flight> found = index.flightsAt(index.search("747"));
+        assertEquals(1, found.size());
+        assertSame(flights.get(2), found.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> found.add(flights.get(0)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a departure named name to the flights
+    private void add(String name) {
+        flights.add(new Flight(name, "Commercial", Flight.TYPE_DEPARTURE));
+    }
+}
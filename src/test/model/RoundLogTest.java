@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RoundLogTest {
+    private RoundLog log;
+    private Flight flight;
+
+    @BeforeEach
+    public void runBefore() {
+        flight = new Flight("B747-1", "commercial", Flight.TYPE_ARIVAL);
+        List<Flight> flights = new ArrayList<>();
+        flights.add(flight);
+        log = new RoundLog(flights, 2);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0, log.size());
+        assertTrue(log.isEnabled());
+        assertTrue(log.renderAll().isEmpty());
+    }
+
+    @Test
+    public void testRecord() {
+        log.record(1, RoundLog.NO_FLIGHT, RoundLog.OUTCOME_ROUND, 0, 0);
+        log.record(1, 0, RoundLog.OUTCOME_LANDED, 3, 45);
+        log.record(1, 0, RoundLog.OUTCOME_CRASHED, 0, 0); // grows past initial capacity
+        assertEquals(3, log.size());
+        assertEquals(1, log.getRound(1));
+        assertEquals(flight, log.getFlight(1));
+        assertEquals(0, log.getFlightIndex(1));
+        assertEquals(RoundLog.NO_FLIGHT, log.getFlightIndex(0));
+        assertEquals(RoundLog.OUTCOME_LANDED, log.getOutcome(1));
+        assertEquals(3, log.getRunwayID(1));
+        assertEquals(45, log.getFuel(1));
+        assertNull(log.getFlight(0));
+    }
+
+    @Test
+    public void testRender() {
+        log.record(2, RoundLog.NO_FLIGHT, RoundLog.OUTCOME_ROUND, 0, 0);
+        log.record(2, 0, RoundLog.OUTCOME_LANDED, 3, 45);
+        log.record(2, 0, RoundLog.OUTCOME_ARRIVAL_STALLED, 0, 45);
+        log.record(2, 0, RoundLog.OUTCOME_TOOK_OFF, 1, 100);
+        log.record(2, 0, RoundLog.OUTCOME_DEPARTURE_STALLED, 0, 100);
+        log.record(2, 0, RoundLog.OUTCOME_CRASHED, 0, 0);
+        log.record(2, 0, -1, 0, 0);
+        List<String> lines = log.renderAll();
+        assertEquals("\n\tRound 2 ", lines.get(0));
+        assertEquals("\tProcessing flight : B747-1 -> Landing attempt from runway 3 -> Landed successfully.",
+                lines.get(1));
+        assertEquals("\tProcessing flight : B747-1 -> Stalled due to no space or runway. -> Fuel reduced to 45%.",
+                lines.get(2));
+        assertEquals("\tProcessing flight : B747-1 -> Takeoff attempt -> Took off successfully from runway 1 .",
+                lines.get(3));
+        assertEquals("\tProcessing flight : B747-1 -> Takeoff attempt -> Stalled due to no free runway.",
+                lines.get(4));
+        assertEquals("\t**** Airplane B747-1 ran out of fuel and crashed!", lines.get(5));
+        assertEquals("", lines.get(6));
+    }
+
+    @Test
+    public void testClear() {
+        log.record(1, 0, RoundLog.OUTCOME_LANDED, 1, 45);
+        log.clear();
+        assertEquals(0, log.size());
+        log.record(2, 0, RoundLog.OUTCOME_TOOK_OFF, 1, 100);
+        assertEquals(1, log.size());
+        assertEquals(2, log.getRound(0));
+    }
+
+    @Test
+    public void testDisabled() {
+        log.setEnabled(false);
+        assertFalse(log.isEnabled());
+        log.record(1, 0, RoundLog.OUTCOME_LANDED, 1, 45);
+        assertEquals(0, log.size());
+    }
+}
@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RunwayAllocatorTest {
+    private List<Runway> runways;
+    private RunwayAllocator allocator;
+    private Flight flight;
+
+    @BeforeEach
+    public void runBefore() {
+        runways = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            runways.add(new Runway());
+        }
+        allocator = new RunwayAllocator(runways);
+        flight = new Flight("B747-1", "commercial", Flight.TYPE_ARIVAL);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0, allocator.getNumOccupied());
+        assertEquals(runways.get(0), allocator.nextFreeRunway());
+        for (Runway rw : runways) {
+            assertFalse(rw.isOccupied());
+        }
+    }
+
+    @Test
+    public void testAssignInOrder() {
+        allocator.nextFreeRunway().assignFlight(flight);
+        allocator.nextFreeRunway().assignFlight(flight);
+        assertTrue(runways.get(0).isOccupied());
+        assertTrue(runways.get(1).isOccupied());
+        assertFalse(runways.get(2).isOccupied());
+        assertEquals(runways.get(2), allocator.nextFreeRunway());
+        allocator.nextFreeRunway().assignFlight(flight);
+        assertEquals(3, allocator.getNumOccupied());
+        assertNull(allocator.nextFreeRunway());
+    }
+
+    @Test
+    public void testFreeSingleRunway() {
+        runways.get(0).assignFlight(flight);
+        runways.get(2).assignFlight(flight);
+        runways.get(0).assignFlight(flight); // already occupied
+        assertEquals(2, allocator.getNumOccupied());
+        runways.get(0).freeRunway();
+        assertFalse(runways.get(0).isOccupied());
+        assertTrue(runways.get(2).isOccupied());
+        assertEquals(1, allocator.getNumOccupied());
+        runways.get(0).freeRunway(); // already free
+        assertEquals(1, allocator.getNumOccupied());
+        assertNotEquals(runways.get(2), allocator.nextFreeRunway());
+    }
+
+    @Test
+    public void testReleaseAll() {
+        runways.get(1).assignFlight(flight);
+        runways.get(2).assignFlight(flight);
+        assertEquals(flight, runways.get(1).getCurrentFlight());
+        allocator.releaseAll();
+        assertEquals(0, allocator.getNumOccupied());
+        for (Runway rw : runways) {
+            assertFalse(rw.isOccupied());
+            assertNull(rw.getCurrentFlight());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class SimulationControllerTest {
+    private static final int NUM_FLIGHTS = 12;
+    private static final long TIMEOUT = 10;
+
+    private Airport airport;
+    private SimulationController controller;
+    private List<Integer> rounds;
+
+    @BeforeEach
+    void runBefore() {
+        airport = new Airport("YVR", 2, 1);
+        for (int i = 0; i < NUM_FLIGHTS; i++) {
+            int type = i % 3 == 0 ? Flight.TYPE_DEPARTURE : Flight.TYPE_ARIVAL;
+            airport.addFlight(new Flight("B757-" + i, "passenger", type));
+        }
+        controller = new SimulationController(airport);
+        rounds = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void runAfter() throws InterruptedException {
+        controller.close();
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRunToCompletion() throws InterruptedException {
+        assertEquals(SimulationController.STATE_NEW, controller.getState());
+        controller.start((a, round, logEntries) -> rounds.add(round));
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(SimulationController.STATE_FINISHED, controller.getState());
+        assertFalse(controller.isActive());
+        assertNull(controller.getFailure());
+        assertTrue(airport.isDone());
+        assertEquals(controller.getRoundsProcessed(), rounds.size());
+        for (int i = 1; i < rounds.size(); i++) {
+            assertEquals(rounds.get(i - 1) + 1, rounds.get(i));
+        }
+    }
+
+    @Test
+    void testOneRunPerAirport() throws InterruptedException {
+        controller.startPaused((a, round, logEntries) -> rounds.add(round));
+        assertTrue(controller.isActive());
+        SimulationController second = new SimulationController(airport);
+        try {
+            assertThrows(IllegalStateException.class, () -> second.start((a, round, logEntries) -> { }));
+            assertEquals(SimulationController.STATE_NEW, second.getState());
+
+            controller.cancel();
+            assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+            assertEquals(SimulationController.STATE_CANCELLED, controller.getState());
+            second.start((a, round, logEntries) -> { });
+            assertTrue(second.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+            assertEquals(SimulationController.STATE_FINISHED, second.getState());
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    void testPauseStepResume() throws InterruptedException {
+        controller.startPaused((a, round, logEntries) -> rounds.add(round));
+        assertEquals(SimulationController.STATE_PAUSED, controller.getState());
+        assertFalse(controller.awaitStop(50, TimeUnit.MILLISECONDS));
+        assertEquals(0, controller.getRoundsProcessed());
+
+        controller.step();
+        waitForRounds(1);
+        controller.step();
+        waitForRounds(2);
+        assertEquals(SimulationController.STATE_PAUSED, controller.getState());
+        assertFalse(controller.awaitStop(50, TimeUnit.MILLISECONDS));
+        assertEquals(2, controller.getRoundsProcessed());
+
+        controller.resume();
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(SimulationController.STATE_FINISHED, controller.getState());
+        assertTrue(airport.isDone());
+    }
+
+    @Test
+    void testPauseWhileRunning() throws InterruptedException {
+        controller.setRoundsPerSecond(20);
+        controller.start((a, round, logEntries) -> rounds.add(round));
+        waitForRounds(1);
+        controller.pause();
+        assertEquals(SimulationController.STATE_PAUSED, controller.getState());
+        int processed = controller.getRoundsProcessed();
+        assertFalse(controller.awaitStop(200, TimeUnit.MILLISECONDS));
+        assertEquals(processed, controller.getRoundsProcessed());
+        assertFalse(airport.isDone());
+    }
+
+    @Test
+    void testCancelBeforeStart() throws InterruptedException {
+        controller.cancel();
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(SimulationController.STATE_CANCELLED, controller.getState());
+        assertFalse(controller.isActive());
+    }
+
+    @Test
+    void testStartAfterCancel() throws InterruptedException {
+        controller.cancel();
+        assertThrows(IllegalStateException.class, () -> controller.start((a, round, logEntries) -> { }));
+        assertThrows(IllegalStateException.class, () -> controller.startPaused((a, round, logEntries) -> { }));
+        assertEquals(SimulationController.STATE_CANCELLED, controller.getState());
+
+        SimulationController next = new SimulationController(airport); // the airport was never claimed
+        try {
+            next.start((a, round, logEntries) -> { });
+            assertTrue(next.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+            assertEquals(SimulationController.STATE_FINISHED, next.getState());
+        } finally {
+            next.close();
+        }
+    }
+
+    @Test
+    void testStartTwice() throws InterruptedException {
+        controller.startPaused((a, round, logEntries) -> rounds.add(round));
+        assertThrows(IllegalStateException.class, () -> controller.start((a, round, logEntries) -> { }));
+        assertEquals(SimulationController.STATE_PAUSED, controller.getState());
+    }
+
+    @Test
+    void testStartWhenAirportDone() throws InterruptedException {
+        Airport empty = new Airport("YYZ", 2, 1);
+        SimulationController done = new SimulationController(empty);
+        done.start((a, round, logEntries) -> rounds.add(round));
+        assertTrue(done.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(done.isStopped());
+        assertEquals(SimulationController.STATE_FINISHED, done.getState());
+        assertEquals(0, done.getRoundsProcessed());
+        assertTrue(rounds.isEmpty());
+
+        SimulationController next = new SimulationController(empty); // the airport was released
+        next.startPaused((a, round, logEntries) -> { });
+        assertEquals(SimulationController.STATE_FINISHED, next.getState());
+        next.close();
+    }
+
+    @Test
+    void testIsStopped() throws InterruptedException {
+        assertFalse(controller.isStopped());
+        controller.startPaused((a, round, logEntries) -> rounds.add(round));
+        assertFalse(controller.isStopped());
+        controller.cancel();
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(controller.isStopped());
+    }
+
+    @Test
+    void testCancelWhileRunning() throws InterruptedException {
+        controller.setRoundsPerSecond(20);
+        controller.start((a, round, logEntries) -> rounds.add(round));
+        waitForRounds(1);
+        controller.cancel();
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(SimulationController.STATE_CANCELLED, controller.getState());
+        assertFalse(airport.isDone());
+        assertEquals(controller.getRoundsProcessed(), rounds.size());
+    }
+
+    @Test
+    void testThrottled() throws InterruptedException {
+        controller.setRoundsPerSecond(100);
+        assertEquals(100, controller.getRoundsPerSecond());
+        long start = System.nanoTime();
+        controller.start((a, round, logEntries) -> rounds.add(round));
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(SimulationController.STATE_FINISHED, controller.getState());
+        assertTrue(controller.getRoundsProcessed() > 1);
+        assertTrue(elapsed >= (controller.getRoundsProcessed() - 1) * 10L);
+    }
+
+    @Test
+    void testListenerFails() throws InterruptedException {
+        RuntimeException failure = new RuntimeException("listener failed");
+        controller.start((a, round, logEntries) -> {
+            throw failure;
+        });
+        assertTrue(controller.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(SimulationController.STATE_FAILED, controller.getState());
+        assertSame(failure, controller.getFailure());
+
+        SimulationController next = new SimulationController(airport);
+        try {
+            next.start((a, round, logEntries) -> { });
+            assertTrue(next.awaitStop(TIMEOUT, TimeUnit.SECONDS));
+            assertEquals(SimulationController.STATE_FINISHED, next.getState());
+        } finally {
+            next.close();
+        }
+    }
+
+    private void waitForRounds(int numRounds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (controller.getRoundsProcessed() < numRounds) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}
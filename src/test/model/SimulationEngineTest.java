@@ -0,0 +1,177 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SimulationEngineTest {
+    private static final int NUM_AIRPORTS = 8;
+    private static final int NUM_FLIGHTS = 12;
+
+    private List<Airport> airports;
+    private List<Airport> sequential;
+    private SimulationEngine engine;
+
+    @BeforeEach
+    void runBefore() {
+        airports = new ArrayList<>();
+        sequential = new ArrayList<>();
+        for (int a = 0; a < NUM_AIRPORTS; a++) {
+            Airport airport = new Airport("A" + a, 2, 1 + a % 2);
+            Airport copy = new Airport("A" + a, 2, 1 + a % 2);
+            for (int i = 0; i < NUM_FLIGHTS; i++) {
+                int type = i % 3 == 0 ? Flight.TYPE_DEPARTURE : Flight.TYPE_ARIVAL;
+                Flight f1 = new Flight("B757-" + i, "passenger", type);
+                Flight f2 = new Flight("B757-" + i, "passenger", type);
+                f2.setAirplaneFuel(f1.getAirplaneFuel());
+                airport.addFlight(f1);
+                copy.addFlight(f2);
+            }
+            airports.add(airport);
+            sequential.add(copy);
+        }
+        engine = new SimulationEngine(airports, 4);
+    }
+
+    @AfterEach
+    void runAfter() {
+        engine.close();
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(NUM_AIRPORTS, engine.getAirports().size());
+        assertEquals(4, engine.getParallelism());
+        assertEquals(0, engine.getRoundsCompleted());
+        assertEquals(0, engine.getNumAirportsDone());
+        assertEquals(NUM_AIRPORTS * NUM_FLIGHTS, engine.getNumActiveFlights());
+        assertEquals(0.0, engine.getProgress());
+        assertFalse(engine.isDone());
+    }
+
+    @Test
+    void testRunRound() {
+        assertTrue(engine.runRound());
+        assertEquals(1, engine.getRoundsCompleted());
+        for (Airport airport : airports) {
+            assertEquals(1, airport.currentRound());
+        }
+        assertTrue(engine.getNumActiveFlights() < NUM_AIRPORTS * NUM_FLIGHTS);
+        assertTrue(engine.getProgress() > 0.0);
+    }
+
+    @Test
+    void testRunMatchesSequential() {
+        engine.run();
+        assertTrue(engine.isDone());
+        assertEquals(NUM_AIRPORTS, engine.getNumAirportsDone());
+        assertEquals(0, engine.getNumActiveFlights());
+        assertEquals(1.0, engine.getProgress());
+        assertFalse(engine.runRound());
+
+        int maxRounds = 0;
+        for (int a = 0; a < NUM_AIRPORTS; a++) {
+            Airport expected = sequential.get(a);
+            while (!expected.isDone()) {
+                expected.processFlightsOneRound();
+            }
+            Airport actual = airports.get(a);
+            assertEquals(expected.currentRound(), actual.currentRound());
+            maxRounds = Math.max(maxRounds, expected.currentRound());
+            for (int i = 0; i < NUM_FLIGHTS; i++) {
+                assertEquals(expected.getFlightsQueue().get(i).getPrintableStatus(),
+                        actual.getFlightsQueue().get(i).getPrintableStatus());
+                assertEquals(expected.getFlightsQueue().get(i).getAirplaneFuel(),
+                        actual.getFlightsQueue().get(i).getAirplaneFuel());
+            }
+        }
+        assertEquals(maxRounds, engine.getRoundsCompleted());
+    }
+
+    @Test
+    void testProgressIgnoresCompletedFlights() {
+        Airport loaded = new Airport("Loaded", 2, 1);
+        for (int i = 0; i < 4; i++) {
+            Flight flight = new Flight("B757-" + i, "passenger", Flight.TYPE_ARIVAL);
+            if (i % 2 == 0) {
+                flight.setComplete();
+            }
+            loaded.addFlight(flight);
+        }
+        SimulationEngine partial = new SimulationEngine(List.of(loaded), 1);
+        assertEquals(2, partial.getNumActiveFlights());
+        assertEquals(0.0, partial.getProgress());
+        partial.run();
+        assertEquals(1.0, partial.getProgress());
+        partial.close();
+    }
+
+    @Test
+    void testNoAirports() {
+        SimulationEngine empty = new SimulationEngine(new ArrayList<>());
+        assertTrue(empty.isDone());
+        assertEquals(1.0, empty.getProgress());
+        assertFalse(empty.runRound());
+        empty.close();
+    }
+
+    @Test
+    void testUniqueNumbersAcrossThreads() throws Exception {
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    numbers.add(new Flight("B757", "passenger", Flight.TYPE_DEPARTURE).getFlightNumber());
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        assertEquals(4000, new HashSet<>(numbers).size());
+    }
+
+    @Test
+    void testSeededEngine() {
+        List<Airport> seeded1 = List.of(new Airport("A", 1, 1), new Airport("B", 1, 1));
+        List<Airport> seeded2 = List.of(new Airport("A", 1, 1), new Airport("B", 1, 1));
+        SimulationEngine engine1 = new SimulationEngine(seeded1, 2, 99);
+        SimulationEngine engine2 = new SimulationEngine(seeded2, 2, 99);
+        for (int a = 0; a < 2; a++) {
+            for (int i = 0; i < 5; i++) {
+                seeded1.get(a).addFlight(
+                        new Flight("F" + i, "cargo", Flight.TYPE_ARIVAL, seeded1.get(a).getRandom()));
+                seeded2.get(a).addFlight(
+                        new Flight("F" + i, "cargo", Flight.TYPE_ARIVAL, seeded2.get(a).getRandom()));
+            }
+        }
+        engine1.run();
+        engine2.run();
+        engine1.close();
+        engine2.close();
+        assertEquals(engine1.getRoundsCompleted(), engine2.getRoundsCompleted());
+        for (int a = 0; a < 2; a++) {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(seeded1.get(a).getFlightsQueue().get(i).getPrintableStatus(),
+                        seeded2.get(a).getFlightsQueue().get(i).getPrintableStatus());
+                assertEquals(seeded1.get(a).getFlightsQueue().get(i).getAirplaneFuel(),
+                        seeded2.get(a).getFlightsQueue().get(i).getAirplaneFuel());
+            }
+        }
+        assertNotEquals(seeded1.get(0).getRandom().nextLong(), seeded1.get(1).getRandom().nextLong());
+    }
+}
@@ -0,0 +1,63 @@
+package model.logging;
+
+import model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventSinkTest {
+    private final Event e1 = new Event("A1");
+    private final Event e2 = new Event("A2");
+
+    @Test
+    public void testMemorySink() {
+        MemoryEventSink sink = new MemoryEventSink();
+        assertTrue(sink.getEvents().isEmpty());
+        sink.accept(List.of(e1));
+        sink.accept(List.of(e2));
+        assertEquals(List.of(e1, e2), sink.getEvents());
+        sink.close();
+    }
+
+    @Test
+    public void testConsoleSink() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleEventSink sink = new ConsoleEventSink(new PrintStream(bytes));
+        sink.accept(List.of(e1, e2));
+        String printed = bytes.toString();
+        assertTrue(printed.contains(e1.toString()));
+        assertTrue(printed.indexOf("A1") < printed.indexOf("A2"));
+    }
+
+    @Test
+    public void testFileSink() throws IOException {
+        String path = "./data/testEventSink.log";
+        Files.deleteIfExists(Paths.get(path));
+        FileEventSink sink = new FileEventSink(path);
+        sink.accept(List.of(e1));
+        sink.accept(List.of(e2));
+        sink.close();
+        List<String> lines = Files.readAllLines(Paths.get(path));
+        assertEquals(4, lines.size()); // date and description of each event
+        assertEquals("A1", lines.get(1));
+        assertEquals("A2", lines.get(3));
+        Files.delete(Paths.get(path));
+    }
+
+    @Test
+    public void testFileSinkInvalidFile() {
+        try {
+            new FileEventSink("./data/my\0illegal:fileName.log");
+            fail("Expected exception was not thrown");
+        } catch (IOException | RuntimeException e) {
+            // expected
+        }
+    }
+}
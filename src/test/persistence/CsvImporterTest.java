@@ -0,0 +1,125 @@
+package persistence;
+
+import model.Airport;
+import model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvImporterTest {
+    @TempDir
+    Path directory;
+
+    private Airport airport;
+
+    @BeforeEach
+    public void runBefore() {
+        airport = new Airport("YVR", 10, 2);
+    }
+
+    @Test
+    public void testImporterNonExistentFile() {
+        try {
+            new CsvImporter(directory.resolve("noSuchFile.csv").toString()).importInto(airport);
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertEquals(0, airport.getFlightsQueue().size());
+        }
+    }
+
+    @Test
+    public void testImporterGeneralSchedule() throws IOException {
+        Path file = write("schedule.csv",
+                "name,classification,type,origin,destination,fuel\r\n"
+                + "Flight A,Commercial,A,San Francisco,Vancouver,40\r\n"
+                + "\r\n"
+                + "\"Flight \"\"B\"\"\", Cargo , Departure, Vancouver,\"Toronto, ON\",\r\n");
+        CsvImporter.Report report = new CsvImporter(file.toString()).importInto(airport);
+        assertEquals(2, report.getNumImported());
+        assertTrue(report.getErrors().isEmpty());
+
+        List<Flight> flights = airport.getFlightsQueue();
+        assertEquals(2, flights.size());
+        assertEquals("Flight A", flights.get(0).getAirplaneName());
+        assertEquals(Flight.TYPE_ARIVAL, flights.get(0).getType());
+        assertEquals("San Francisco", flights.get(0).getOrigin());
+        assertEquals(40, flights.get(0).getAirplaneFuel());
+        assertEquals("Flight \"B\"", flights.get(1).getAirplaneName());
+        assertEquals("Cargo", flights.get(1).getClassification());
+        assertEquals(Flight.TYPE_DEPARTURE, flights.get(1).getType());
+        assertEquals("Toronto, ON", flights.get(1).getDestination());
+        assertEquals(Flight.MAX_AIRPLANE_FUEL, flights.get(1).getAirplaneFuel());
+        assertEquals(flights.get(0).getFlightNumber() + 1, flights.get(1).getFlightNumber());
+        assertEquals(2, airport.getNumActiveFlights());
+    }
+
+    @Test
+    public void testImporterReportsBadRows() throws IOException {
+        Path file = write("schedule.csv",
+                "Flight A,Commercial,A,YVR,YYZ,40\n"
+                + "Flight B,Commercial,X,YVR,YYZ,40\n"
+                + "Flight C,Commercial,A,YVR,YYZ\n"
+                + "Flight D,Commercial,D,YVR,YYZ,lots\n"
+                + "Flight E,Commercial,D,YVR,YYZ,101\n"
+                + ",Commercial,D,YVR,YYZ,\n"
+                + "\"Flight G,Commercial,D,YVR,YYZ,\n"
+                + "\"Flight H\"x,Commercial,D,YVR,YYZ,\n"
+                + "\"Flight I\" ,Commercial,D,YVR,YYZ,\"\"");
+        CsvImporter.Report report = new CsvImporter(file.toString()).importInto(airport);
+        assertEquals(2, report.getNumImported());
+        assertEquals("Flight A", airport.getFlightsQueue().get(0).getAirplaneName());
+        assertEquals("Flight I", airport.getFlightsQueue().get(1).getAirplaneName());
+
+        List<CsvImporter.RowError> errors = report.getErrors();
+        assertEquals(7, errors.size());
+        assertEquals("Line 2: Unknown flight type: X", errors.get(0).toString());
+        assertEquals("Expected 6 columns but found 5", errors.get(1).getMessage());
+        assertEquals("Fuel is not a number: lots", errors.get(2).getMessage());
+        assertEquals(5, errors.get(3).getLine());
+        assertEquals("Airplane name is missing", errors.get(4).getMessage());
+        assertEquals("Quoted field is not closed", errors.get(5).getMessage());
+        assertEquals(7, errors.get(5).getLine());
+        assertEquals("Line 8: Unexpected text after quoted field: x", errors.get(6).toString());
+    }
+
+    @Test
+    public void testImporterKeepsOrderAcrossChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("name,classification,type,origin,destination,fuel\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append(i % 97 == 0 ? "broken row\n" : "Flight " + i + ",Cargo,A,YVR,YYZ," + (i % 100) + "\n");
+        }
+        Path file = write("schedule.csv", csv.toString());
+        CsvImporter.Report report = new CsvImporter(file.toString(), 4, 64).importInto(airport);
+
+        assertEquals(989, report.getNumImported());
+        assertEquals(11, report.getErrors().size());
+        for (int i = 0; i < report.getErrors().size(); i++) {
+            assertEquals(i * 97 + 2, report.getErrors().get(i).getLine());
+        }
+        List<Flight> flights = airport.getFlightsQueue();
+        int expected = 0;
+        for (int i = 0; i < flights.size(); i++, expected++) {
+            if (expected % 97 == 0) {
+                expected++;
+            }
+            assertEquals("Flight " + expected, flights.get(i).getAirplaneName());
+            assertEquals(expected % 100, flights.get(i).getAirplaneFuel());
+            assertEquals(flights.get(0).getFlightNumber() + i, flights.get(i).getFlightNumber());
+        }
+    }
+
+    // EFFECTS: writes content to a file named name and returns it
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
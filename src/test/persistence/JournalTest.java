@@ -0,0 +1,198 @@
+package persistence;
+
+import model.Airport;
+import model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalTest {
+    @TempDir
+    Path directory;
+
+    private String checkpointFile;
+    private String journalFile;
+    private Airport airport;
+
+    @BeforeEach
+    public void runBefore() {
+        checkpointFile = directory.resolve("airport.snap").toString();
+        journalFile = directory.resolve("airport.journal").toString();
+        airport = new Airport("YVR", 2, 1);
+        airport.setSeed(3);
+        addFlights(airport, 0, 2);
+    }
+
+    @Test
+    public void testAttachWritesCheckpoint() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        journal.close();
+        assertThrows(IllegalStateException.class, journal::save); // closed
+        assertEquals(2, new SnapshotReader(checkpointFile).read().getFlightsQueue().size());
+        assertEquals(4 + 8 + 9, Files.size(Path.of(journalFile))); // header and round record
+        assertEquals(2, Journal.recover(checkpointFile, journalFile).getFlightsQueue().size());
+    }
+
+    @Test
+    public void testCloseWithoutAttach() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        assertThrows(IllegalStateException.class, journal::save);
+        journal.close();
+        assertFalse(Files.exists(Path.of(journalFile)));
+
+        Journal failed = new Journal(directory.resolve("missing").resolve("airport.snap").toString(), journalFile);
+        assertThrows(IOException.class, () -> failed.attach(airport));
+        assertThrows(IllegalStateException.class, failed::save);
+        failed.close();
+        airport.processFlightsOneRound(); // no longer recorded
+    }
+
+    @Test
+    public void testRecoverReplaysChanges() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        addFlights(airport, 2, 6);
+        airport.processFlightsOneRound();
+        airport.processFlightsOneRound();
+        journal.save();
+        long saved = Files.size(Path.of(journalFile));
+        addFlights(airport, 6, 7);
+        journal.save();
+        assertTrue(Files.size(Path.of(journalFile)) - saved < 100); // costs one record, not the airport
+
+        assertSameAirport(airport, Journal.recover(checkpointFile, journalFile));
+        journal.close();
+    }
+
+    @Test
+    public void testRecoverIgnoresTornRecord() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        airport.processFlightsOneRound();
+        journal.save();
+        Airport expected = Journal.recover(checkpointFile, journalFile);
+        addFlights(airport, 2, 3);
+        journal.close();
+
+        byte[] bytes = Files.readAllBytes(Path.of(journalFile));
+        Files.write(Path.of(journalFile), Arrays.copyOf(bytes, bytes.length - 3));
+        assertSameAirport(expected, Journal.recover(checkpointFile, journalFile));
+
+        bytes[bytes.length - 1] ^= 1; // corrupted instead of torn
+        Files.write(Path.of(journalFile), bytes);
+        assertSameAirport(expected, Journal.recover(checkpointFile, journalFile));
+    }
+
+    @Test
+    public void testPeriodicCheckpoint() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile, 5);
+        journal.attach(airport);
+        addFlights(airport, 2, 10);
+        while (!airport.isDone()) {
+            airport.processFlightsOneRound();
+        }
+        journal.save();
+        assertTrue(new SnapshotReader(checkpointFile).read().getFlightsQueue().size() >= 5);
+        assertSameAirport(airport, Journal.recover(checkpointFile, journalFile));
+        journal.checkpoint();
+        assertEquals(10, new SnapshotReader(checkpointFile).read().getFlightsQueue().size());
+        assertSameAirport(airport, Journal.recover(checkpointFile, journalFile));
+        journal.close();
+    }
+
+    @Test
+    public void testReplayingOldJournalChangesNothing() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        addFlights(airport, 2, 5);
+        airport.processFlightsOneRound();
+        journal.save();
+        byte[] oldJournal = Files.readAllBytes(Path.of(journalFile));
+        journal.checkpoint();
+        journal.close();
+
+        // as if the session crashed between saving the checkpoint and starting the journal over
+        Files.write(Path.of(journalFile), oldJournal);
+        assertSameAirport(airport, Journal.recover(checkpointFile, journalFile));
+    }
+
+    @Test
+    public void testRecoverWithoutJournal() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        journal.close();
+        Files.delete(Path.of(journalFile));
+        assertEquals(2, Journal.recover(checkpointFile, journalFile).getFlightsQueue().size());
+    }
+
+    @Test
+    public void testJournalDoesNotFitCheckpoint() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        airport.processFlightsOneRound();
+        journal.close();
+        SnapshotWriter writer = new SnapshotWriter(checkpointFile);
+        writer.open();
+        writer.write(new Airport("Empty", 1, 1));
+        writer.close();
+        try {
+            Journal.recover(checkpointFile, journalFile);
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNotAJournal() throws IOException {
+        Journal journal = new Journal(checkpointFile, journalFile);
+        journal.attach(airport);
+        journal.close();
+        Files.write(Path.of(journalFile), new byte[] {1, 2, 3, 4, 5});
+        try {
+            Journal.recover(checkpointFile, journalFile);
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertEquals("File is not an airport journal", e.getMessage());
+        }
+    }
+
+    // MODIFIES: airport
+    // EFFECTS: adds the flights from (inclusive) to (exclusive) to airport,
+    // alternating between arrivals and departures
+    private void addFlights(Airport airport, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int type = i % 2 == 0 ? Flight.TYPE_ARIVAL : Flight.TYPE_DEPARTURE;
+            Flight flight = new Flight("B737-" + i, "Commercial", type, airport.getRandom());
+            flight.setOrigin("YVR");
+            flight.setDestination("YYZ " + i);
+            airport.addFlight(flight);
+        }
+    }
+
+    // EFFECTS: checks that actual has the same state as expected
+    private void assertSameAirport(Airport expected, Airport actual) {
+        assertEquals(expected.getCurrentCapacity(), actual.getCurrentCapacity());
+        assertEquals(expected.currentRound(), actual.currentRound());
+        assertEquals(expected.getNumActiveFlights(), actual.getNumActiveFlights());
+        assertEquals(expected.getFlightsQueue().size(), actual.getFlightsQueue().size());
+        for (int i = 0; i < expected.getFlightsQueue().size(); i++) {
+            Flight e = expected.getFlightsQueue().get(i);
+            Flight a = actual.getFlightsQueue().get(i);
+            assertEquals(e.getAirplaneName(), a.getAirplaneName());
+            assertEquals(e.getDestination(), a.getDestination());
+            assertEquals(e.getType(), a.getType());
+            assertEquals(e.getStatus(), a.getStatus());
+            assertEquals(e.getAirplaneFuel(), a.getAirplaneFuel());
+            assertEquals(e.isComplete(), a.isComplete());
+        }
+    }
+}
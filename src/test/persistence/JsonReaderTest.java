@@ -1,11 +1,19 @@
 package persistence;
 
 import model.Airport;
+import model.Event;
+import model.EventLog;
 import model.Flight;
 import model.Runway;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,4 +90,172 @@ public class JsonReaderTest {
             fail("Exception should not have been thrown");
         }
     }
+
+    @Test
+    public void testStreamingReaderNonExistentFile() {
+        JsonReader reader = new JsonReader("./data/noSuchFile.json");
+        try {
+            reader.readStreaming();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testStreamingReaderEmptyAirport() {
+        JsonReader reader = new JsonReader("./data/testReaderEmptyAirport.json");
+        try {
+            Airport airport = reader.readStreaming();
+            assertEquals("Empty Airport", airport.getName());
+            assertEquals(0, airport.getCurrentCapacity());
+            assertEquals(0, airport.getRunways().size());
+            assertEquals(0, airport.getFlightsQueue().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testStreamingReaderMatchesReader() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralAirport.json");
+        try {
+            Airport expected = reader.read();
+            Airport airport = reader.readStreaming();
+            assertEquals(expected.getName(), airport.getName());
+            assertEquals(expected.getCurrentCapacity(), airport.getCurrentCapacity());
+            assertEquals(1, airport.getRunways().get(0).getRunwayID());
+            assertEquals(2, airport.getRunways().get(1).getRunwayID());
+            List<Flight> expectedFlights = expected.getFlightsQueue();
+            List<Flight> flights = airport.getFlightsQueue();
+            assertEquals(expectedFlights.size(), flights.size());
+            for (int i = 0; i < flights.size(); i++) {
+                assertEquals(expectedFlights.get(i).getAirplaneName(), flights.get(i).getAirplaneName());
+                assertEquals(expectedFlights.get(i).getPrintableStatus(), flights.get(i).getPrintableStatus());
+                assertEquals(expectedFlights.get(i).getAirplaneFuel(), flights.get(i).getAirplaneFuel());
+                assertEquals(expectedFlights.get(i).getOrigin(), flights.get(i).getOrigin());
+                assertEquals(expectedFlights.get(i).getDestination(), flights.get(i).getDestination());
+                assertEquals(expectedFlights.get(i).isComplete(), flights.get(i).isComplete());
+            }
+            assertEquals(expected.getNumActiveFlights(), airport.getNumActiveFlights());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testReaderParallelMatchesSequential() {
+        Airport saved = new Airport("Big Airport", 5, 2);
+        for (int i = 0; i < 5000; i++) {
+            Flight flight = new Flight("Flight " + i, "Cargo", i % 3 == 0 ? Flight.TYPE_DEPARTURE : Flight.TYPE_ARIVAL);
+            if (i % 7 == 0) {
+                flight.setComplete();
+            }
+            saved.addFlight(flight);
+        }
+        try {
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json");
+            writer.open();
+            writer.write(saved);
+            writer.close();
+            Airport sequential = new JsonReader("./data/testWriterGeneralAirport.json", 1).read();
+            Airport parallel = new JsonReader("./data/testWriterGeneralAirport.json", 4).read();
+            List<Flight> expected = sequential.getFlightsQueue();
+            List<Flight> flights = parallel.getFlightsQueue();
+            assertEquals(5000, flights.size());
+            for (int i = 0; i < flights.size(); i++) {
+                assertEquals("Flight " + i, flights.get(i).getAirplaneName());
+                assertEquals(expected.get(i).getAirplaneFuel(), flights.get(i).getAirplaneFuel());
+                assertEquals(expected.get(i).isComplete(), flights.get(i).isComplete());
+                assertEquals(flights.get(0).getFlightNumber() + i, flights.get(i).getFlightNumber());
+            }
+            assertEquals(sequential.getNumActiveFlights(), parallel.getNumActiveFlights());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testStreamingReaderAddsFlightsInChunks() {
+        Airport saved = new Airport("Big Airport", 5, 2);
+        for (int i = 0; i < 2500; i++) {
+            saved.addFlight(new Flight("Flight " + i, "Cargo", Flight.TYPE_ARIVAL));
+        }
+        try {
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json");
+            writer.open();
+            writer.writeStreaming(saved);
+            writer.close();
+            EventLog.getInstance().clear();
+            Airport airport = new JsonReader("./data/testWriterGeneralAirport.json").readStreaming();
+            List<String> added = new ArrayList<>();
+            for (Event event : EventLog.getInstance()) {
+                if (event.getDescription().endsWith("flights added to the airport")) {
+                    added.add(event.getDescription().trim());
+                }
+            }
+            assertEquals(List.of("1024 flights added to the airport", "1024 flights added to the airport",
+                    "452 flights added to the airport"), added); // never all of them at once
+            assertEquals(2500, airport.getFlightsQueue().size());
+            assertEquals("Flight 2499", airport.getFlightsQueue().get(2499).getAirplaneName());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testReaderFuelOutOfRange() throws IOException {
+        String file = "./data/testWriterGeneralAirport.json";
+        Files.writeString(Path.of(file), "{\"name\": \"Bad Fuel\", \"maxCapacity\": 5, \"currentCapacity\": 5, "
+                + "\"numRunways\": 0, \"runways\": [], \"flights\": [{\"airplaneName\": \"A320\", "
+                + "\"classification\": \"Cargo\", \"status\": 1, \"airplaneFuel\": 150, \"type\": 1, "
+                + "\"isComplete\": false, \"origin\": \"YVR\", \"destination\": \"YYZ\"}]}");
+        JsonReader reader = new JsonReader(file);
+        IOException e = assertThrows(IOException.class, reader::read);
+        assertTrue(e.getMessage().endsWith("Fuel must be between 0 and 100: 150"));
+        assertThrows(IOException.class, reader::readStreaming);
+    }
+
+    @Test
+    public void testStreamingReaderFlightsBeforeAirport() {
+        JsonReader reader = new JsonReader("./data/testReaderFlightsFirst.json");
+        try {
+            Airport airport = reader.readStreaming();
+            assertEquals("Flights First", airport.getName());
+            assertEquals(4, airport.getCurrentCapacity());
+            assertEquals(7, airport.getRunways().get(0).getRunwayID());
+            assertEquals(1, airport.getFlightsQueue().size());
+            assertEquals("Airbus A320", airport.getFlightsQueue().get(0).getAirplaneName());
+            assertEquals(40, airport.getFlightsQueue().get(0).getAirplaneFuel());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testStreamingReaderMalformedFile() {
+        JsonReader reader = new JsonReader("./README.md");
+        try {
+            reader.readStreaming();
+            fail("Expected JSONException was not thrown");
+        } catch (JSONException e) {
+            // expected
+        } catch (IOException e) {
+            fail("IOException should not have been thrown");
+        }
+    }
+
+    @Test
+    public void testStreamingReaderProgress() {
+        List<Integer> progress = new ArrayList<>();
+        JsonReader reader = new JsonReader("./data/testReaderGeneralAirport.json");
+        reader.setProgressListener(progress::add);
+        try {
+            reader.readStreaming();
+            assertFalse(progress.isEmpty());
+            assertEquals(100, progress.get(progress.size() - 1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
 }
@@ -4,7 +4,15 @@ import model.Airport;
 import model.Flight;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.json.JSONObject;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -79,4 +87,148 @@ public class JsonWriterTest {
         }
     }
 
+    @Test
+    public void testStreamingWriterEmptyAirport() {
+        try {
+            Airport airport = new Airport("Empty Airport", 0, 0);
+            JsonWriter writer = new JsonWriter("./data/testWriterEmptyAirport.json");
+            writer.open();
+            writer.writeStreaming(airport);
+            writer.close();
+
+            assertTrue(airport.toJson().similar(readJson("./data/testWriterEmptyAirport.json")));
+            airport = new JsonReader("./data/testWriterEmptyAirport.json").readStreaming();
+            assertEquals("Empty Airport", airport.getName());
+            assertEquals(0, airport.getRunways().size());
+            assertEquals(0, airport.getFlightsQueue().size());
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testStreamingWriterGeneralAirport() {
+        try {
+            Airport airport = generalAirport();
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json");
+            writer.open();
+            writer.writeStreaming(airport);
+            writer.close();
+
+            String text = new String(Files.readAllBytes(Paths.get("./data/testWriterGeneralAirport.json")));
+            assertTrue(text.contains("\n    \"flights\": ["));
+            assertTrue(airport.toJson().similar(new JSONObject(text)));
+            Airport loaded = new JsonReader("./data/testWriterGeneralAirport.json").read();
+            assertEquals(airport.getMaxCapacity(), loaded.getMaxCapacity());
+            assertEquals(2, loaded.getFlightsQueue().size());
+            assertEquals("Flight \"A\"", loaded.getFlightsQueue().get(0).getAirplaneName());
+            assertEquals("Parked", loaded.getFlightsQueue().get(1).getPrintableStatus());
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testStreamingWriterNoIndent() {
+        try {
+            Airport airport = generalAirport();
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json", false);
+            writer.open();
+            writer.writeStreaming(airport);
+            writer.close();
+
+            String text = new String(Files.readAllBytes(Paths.get("./data/testWriterGeneralAirport.json")));
+            assertFalse(text.contains("\n"));
+            assertTrue(text.startsWith("{\"name\":\"Test Airport\",\"maxCapacity\":10,"));
+            assertTrue(airport.toJson().similar(new JSONObject(text)));
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWriterKeepsFileUntilWritten() {
+        try {
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json");
+            writer.open();
+            writer.writeStreaming(generalAirport());
+            writer.close();
+            byte[] saved = Files.readAllBytes(Paths.get("./data/testWriterGeneralAirport.json"));
+
+            writer.open();
+            writer.close(); // nothing written
+            try {
+                writer.open();
+                writer.writeStreaming(null);
+                fail("Expected NullPointerException was not thrown");
+            } catch (NullPointerException e) {
+                writer.close(); // failed half way
+            }
+
+            assertArrayEquals(saved, Files.readAllBytes(Paths.get("./data/testWriterGeneralAirport.json")));
+            assertFalse(Files.exists(Paths.get("./data/testWriterGeneralAirport.json.tmp")));
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testStreamingWriterProgress() {
+        try {
+            List<Integer> progress = new ArrayList<>();
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json");
+            writer.setProgressListener(progress::add);
+            writer.open();
+            writer.writeStreaming(generalAirport());
+            writer.close();
+            assertEquals(List.of(50, 100), progress);
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWriterCompressed() {
+        try {
+            Airport airport = generalAirport();
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralAirport.json", false, true);
+            writer.open();
+            writer.writeStreaming(airport);
+            writer.close();
+
+            byte[] bytes = Files.readAllBytes(Paths.get("./data/testWriterGeneralAirport.json"));
+            assertEquals((byte) 0x1f, bytes[0]);
+            assertEquals((byte) 0x8b, bytes[1]);
+            String text = new String(new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes());
+            assertTrue(airport.toJson().similar(new JSONObject(text)));
+            JsonReader reader = new JsonReader("./data/testWriterGeneralAirport.json");
+            assertEquals("Flight \"A\"", reader.read().getFlightsQueue().get(0).getAirplaneName());
+            assertEquals("Flight \"A\"", reader.readStreaming().getFlightsQueue().get(0).getAirplaneName());
+
+            writer.open();
+            writer.write(airport);
+            writer.close();
+            assertEquals("Parked", reader.readStreaming().getFlightsQueue().get(1).getPrintableStatus());
+        } catch (Exception e) {
+            fail("Exception should not have been thrown: " + e.getMessage());
+        }
+    }
+
+    // EFFECTS: returns an airport with two runways, one arrival and one departure
+    private Airport generalAirport() {
+        Airport airport = new Airport("Test Airport", 10, 2);
+        Flight flightA = new Flight("Flight \"A\"", "Commercial", Flight.TYPE_ARIVAL);
+        flightA.setOrigin("Origin A");
+        flightA.setDestination("Destination A");
+        airport.addFlight(flightA);
+        Flight flightB = new Flight("Flight B", "Cargo", Flight.TYPE_DEPARTURE);
+        flightB.setComplete();
+        airport.addFlight(flightB);
+        return airport;
+    }
+
+    // EFFECTS: returns the JSON object saved in file
+    private JSONObject readJson(String file) throws Exception {
+        return new JSONObject(new String(Files.readAllBytes(Paths.get(file))));
+    }
 }
@@ -0,0 +1,221 @@
+package persistence;
+
+import model.Airport;
+import model.Flight;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotReaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testReaderNonExistentFile() {
+        SnapshotReader reader = new SnapshotReader(directory.resolve("noSuchFile.snap").toString());
+        try {
+            reader.read();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReaderNotASnapshot() {
+        SnapshotReader reader = new SnapshotReader("./data/testReaderGeneralAirport.json");
+        try {
+            reader.read();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertEquals("File is not an airport snapshot", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReaderCorruptedSnapshot() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(generalAirport(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        try {
+            new SnapshotReader(file.toString()).read();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReaderCorruptedStringLengths() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(generalAirport(), file);
+        byte[] saved = Files.readAllBytes(file);
+        int table = (int) ByteBuffer.wrap(saved).getLong(Snapshot.STRINGS_OFFSET_POSITION);
+        int[][] corruptions = {{table, Integer.MAX_VALUE}, {table, -1},
+                {table + Integer.BYTES, -1}, {table + Integer.BYTES, Integer.MAX_VALUE}};
+        for (int[] corruption : corruptions) {
+            byte[] bytes = saved.clone();
+            ByteBuffer.wrap(bytes).putInt(corruption[0], corruption[1]);
+            Files.write(file, bytes);
+            try {
+                new SnapshotReader(file.toString()).read();
+                fail("Expected IOException was not thrown");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Snapshot is corrupted"));
+            }
+        }
+    }
+
+    @Test
+    public void testReaderCorruptedNumRunways() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(generalAirport(), file);
+        byte[] saved = Files.readAllBytes(file);
+        for (int numRunways : new int[] {-1, 3, 50_000_000}) {
+            byte[] bytes = saved.clone();
+            ByteBuffer.wrap(bytes).putInt(Snapshot.NUM_RUNWAYS_POSITION, numRunways);
+            Files.write(file, bytes);
+            try {
+                new SnapshotReader(file.toString()).read();
+                fail("Expected IOException was not thrown");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Snapshot is corrupted"));
+            }
+            try {
+                new SnapshotReader(file.toString()).view();
+                fail("Expected IOException was not thrown");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Snapshot is corrupted"));
+            }
+        }
+    }
+
+    @Test
+    public void testReaderFuelOutOfRange() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(generalAirport(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        int flightsOffset = (int) ByteBuffer.wrap(bytes).getLong(Snapshot.FLIGHTS_OFFSET_POSITION);
+        bytes[flightsOffset + Snapshot.AIRPLANE_FUEL] = (byte) 120;
+        Files.write(file, bytes);
+        try {
+            new SnapshotReader(file.toString()).read();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Snapshot is corrupted"));
+        }
+    }
+
+    @Test
+    public void testReaderUnsupportedVersion() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(generalAirport(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[5] = 99;
+        Files.write(file, bytes);
+        try {
+            new SnapshotReader(file.toString()).read();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertEquals("Unsupported snapshot version: 99", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReaderEmptyAirport() throws IOException {
+        Path file = directory.resolve("empty.snap");
+        save(new Airport("Empty Airport", 0, 0), file);
+        Airport airport = new SnapshotReader(file.toString()).read();
+        assertEquals("Empty Airport", airport.getName());
+        assertEquals(0, airport.getCurrentCapacity());
+        assertEquals(0, airport.getRunways().size());
+        assertEquals(0, airport.getFlightsQueue().size());
+    }
+
+    @Test
+    public void testReaderGeneralAirport() throws IOException {
+        Path file = directory.resolve("general.snap");
+        Airport expected = generalAirport();
+        save(expected, file);
+        Airport airport = new SnapshotReader(file.toString()).read();
+        assertEquals("Test Airport", airport.getName());
+        assertEquals(10, airport.getMaxCapacity());
+        assertEquals(7, airport.getCurrentCapacity());
+        assertEquals(2, airport.getRunways().size());
+        assertEquals(expected.getRunways().get(1).getRunwayID(), airport.getRunways().get(1).getRunwayID());
+        assertEquals(2, airport.getFlightsQueue().size());
+        Flight arrival = airport.getFlightsQueue().get(0);
+        assertEquals("Flight A", arrival.getAirplaneName());
+        assertEquals("Commercial", arrival.getClassification());
+        assertEquals("San Francisco", arrival.getOrigin());
+        assertEquals("Vancouver", arrival.getDestination());
+        assertEquals("In Air", arrival.getPrintableStatus());
+        assertEquals(40, arrival.getAirplaneFuel());
+        assertFalse(arrival.isComplete());
+        Flight departure = airport.getFlightsQueue().get(1);
+        assertEquals("Flight B", departure.getAirplaneName());
+        assertEquals(Flight.TYPE_DEPARTURE, departure.getType());
+        assertEquals("Parked", departure.getPrintableStatus());
+        assertTrue(departure.isComplete());
+        assertEquals(1, airport.getNumActiveFlights());
+    }
+
+    @Test
+    public void testReaderCompressedSnapshot() throws IOException {
+        Path file = directory.resolve("general.snap.gz");
+        SnapshotWriter writer = new SnapshotWriter(file.toString(), true);
+        writer.open();
+        writer.write(generalAirport());
+        writer.close();
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals((byte) 0x1f, bytes[0]);
+        assertEquals((byte) 0x8b, bytes[1]);
+
+        Airport airport = new SnapshotReader(file.toString()).read();
+        assertEquals("Test Airport", airport.getName());
+        assertEquals(7, airport.getCurrentCapacity());
+        assertEquals(2, airport.getFlightsQueue().size());
+        assertEquals("Vancouver", airport.getFlightsQueue().get(0).getDestination());
+        assertTrue(airport.getFlightsQueue().get(1).isComplete());
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        try {
+            new SnapshotReader(file.toString()).read();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    // EFFECTS: returns an airport with two runways, one arrival and one
+    // completed departure
+    private Airport generalAirport() {
+        Airport airport = new Airport("Test Airport", 10, 2);
+        airport.setCurrentCapacity(7);
+        Flight arrival = new Flight("Flight A", "Commercial", Flight.TYPE_ARIVAL);
+        arrival.setOrigin("San Francisco");
+        arrival.setDestination("Vancouver");
+        arrival.setAirplaneFuel(40);
+        airport.addFlight(arrival);
+        Flight departure = new Flight("Flight B", "Cargo", Flight.TYPE_DEPARTURE);
+        departure.setComplete();
+        airport.addFlight(departure);
+        return airport;
+    }
+
+    // EFFECTS: saves the snapshot of airport to file
+    private void save(Airport airport, Path file) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(file.toString());
+        writer.open();
+        writer.write(airport);
+        writer.close();
+    }
+}
@@ -0,0 +1,173 @@
+package persistence;
+
+import model.Airport;
+import model.Flight;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotViewTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testViewNonExistentFile() {
+        try {
+            new SnapshotReader(directory.resolve("noSuchFile.snap").toString()).view();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testViewNotASnapshot() {
+        try {
+            new SnapshotReader("./data/testReaderGeneralAirport.json").view();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertEquals("File is not an airport snapshot", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testViewCorruptedHeader() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(airport(3), file, false);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(Snapshot.NUM_FLIGHTS_POSITION, 1000);
+        Files.write(file, bytes);
+        try {
+            new SnapshotReader(file.toString()).view();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Snapshot is corrupted"));
+        }
+    }
+
+    @Test
+    public void testViewCorruptedStringLength() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(airport(3), file, false);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt((int) buffer.getLong(Snapshot.STRINGS_OFFSET_POSITION) + Integer.BYTES, -1);
+        Files.write(file, bytes);
+        SnapshotView view = new SnapshotReader(file.toString()).view();
+        try {
+            view.getName();
+            fail("Expected IllegalStateException was not thrown");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Snapshot is corrupted"));
+        }
+    }
+
+    @Test
+    public void testViewHeader() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(airport(3), file, false);
+        SnapshotView view = new SnapshotReader(file.toString()).view();
+        assertEquals("Test Airport", view.getName());
+        assertEquals(10, view.getMaxCapacity());
+        assertEquals(7, view.getCurrentCapacity());
+        assertEquals(2, view.getNumRunways());
+        assertEquals(3, view.getNumFlights());
+        assertEquals(3, view.getFlights().size());
+    }
+
+    @Test
+    public void testViewFlights() throws IOException {
+        Path file = directory.resolve("general.snap");
+        Airport expected = airport(3);
+        save(expected, file, false);
+        List<Flight> flights = new SnapshotReader(file.toString()).view().getFlights();
+        Flight first = flights.get(0);
+        assertEquals(expected.getFlightsQueue().get(0).getFlightNumber(), first.getFlightNumber());
+        assertEquals("Flight 0", first.getAirplaneName());
+        assertEquals("Commercial", first.getClassification());
+        assertEquals("Origin 0", first.getOrigin());
+        assertEquals("Vancouver", first.getDestination());
+        assertEquals(40, first.getAirplaneFuel());
+        assertFalse(first.isComplete());
+        Flight last = flights.get(2);
+        assertEquals(Flight.TYPE_DEPARTURE, last.getType());
+        assertTrue(last.isComplete());
+        assertThrows(IndexOutOfBoundsException.class, () -> flights.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> flights.remove(0));
+
+        first.setAirplaneFuel(10);
+        assertEquals(40, flights.get(0).getAirplaneFuel());
+    }
+
+    @Test
+    public void testViewPages() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(airport(25), file, false);
+        SnapshotView view = new SnapshotReader(file.toString()).view();
+        assertEquals(10, view.getPage(0, 10).size());
+        assertEquals("Flight 10", view.getPage(1, 10).get(0).getAirplaneName());
+        List<Flight> last = view.getPage(2, 10);
+        assertEquals(5, last.size());
+        assertEquals("Flight 24", last.get(4).getAirplaneName());
+        assertTrue(view.getPage(3, 10).isEmpty());
+        assertTrue(view.getPage(Integer.MAX_VALUE, 10).isEmpty());
+    }
+
+    @Test
+    public void testViewSearch() throws IOException {
+        Path file = directory.resolve("general.snap");
+        save(airport(25), file, false);
+        SnapshotView view = new SnapshotReader(file.toString()).view();
+        List<Flight> found = view.searchByAirplaneName("flight 2");
+        assertEquals(6, found.size());
+        assertEquals("Flight 2", found.get(0).getAirplaneName());
+        assertEquals("Flight 24", found.get(5).getAirplaneName());
+        assertEquals(25, view.searchByAirplaneName("FLIGHT").size());
+        assertTrue(view.searchByAirplaneName("Cargo").isEmpty());
+        assertArrayEquals(new int[] { 2, 20, 21, 22, 23, 24 }, view.searchIndicesByAirplaneName("FLIGHT 2"));
+    }
+
+    @Test
+    public void testViewCompressedSnapshot() throws IOException {
+        Path file = directory.resolve("general.snap.gz");
+        save(airport(3), file, true);
+        SnapshotView view = new SnapshotReader(file.toString()).view();
+        assertEquals("Test Airport", view.getName());
+        assertEquals(3, view.getNumFlights());
+        assertEquals("Origin 1", view.getFlights().get(1).getOrigin());
+    }
+
+    // EFFECTS: returns an airport with two runways and numFlights flights named
+    // "Flight i", the last of which is a completed departure
+    private Airport airport(int numFlights) {
+        Airport airport = new Airport("Test Airport", 10, 2);
+        airport.setCurrentCapacity(7);
+        for (int i = 0; i < numFlights; i++) {
+            boolean last = i == numFlights - 1;
+            Flight flight = new Flight("Flight " + i, "Commercial", last ? Flight.TYPE_DEPARTURE : Flight.TYPE_ARIVAL);
+            flight.setOrigin("Origin " + i);
+            flight.setDestination("Vancouver");
+            flight.setAirplaneFuel(40);
+            if (last) {
+                flight.setComplete();
+            }
+            airport.addFlight(flight);
+        }
+        return airport;
+    }
+
+    // EFFECTS: saves the snapshot of airport to file, compressed if compress
+    private void save(Airport airport, Path file, boolean compress) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(file.toString(), compress);
+        writer.open();
+        writer.write(airport);
+        writer.close();
+    }
+}
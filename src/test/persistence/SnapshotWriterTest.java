@@ -0,0 +1,98 @@
+package persistence;
+
+import model.Airport;
+import model.Flight;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotWriterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriterInvalidFile() {
+        try {
+            SnapshotWriter writer = new SnapshotWriter(directory.resolve("noSuchDirectory/airport.snap").toString());
+            writer.open();
+            fail("Expected IOException was not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWriterKeepsFileUntilWritten() throws IOException {
+        Path file = directory.resolve("airport.snap");
+        SnapshotWriter writer = new SnapshotWriter(file.toString());
+        writer.open();
+        writer.write(new Airport("Saved Airport", 1, 1));
+        writer.close();
+        byte[] saved = Files.readAllBytes(file);
+
+        writer.open();
+        writer.close(); // nothing written
+        try {
+            writer.open();
+            writer.write(null);
+            fail("Expected NullPointerException was not thrown");
+        } catch (NullPointerException e) {
+            writer.close(); // failed half way
+        }
+
+        assertArrayEquals(saved, Files.readAllBytes(file));
+        assertFalse(Files.exists(directory.resolve("airport.snap.tmp")));
+    }
+
+    @Test
+    public void testWriterEmptyAirport() throws IOException {
+        Path file = directory.resolve("empty.snap");
+        SnapshotWriter writer = new SnapshotWriter(file.toString());
+        writer.open();
+        writer.write(new Airport("Empty Airport", 0, 0));
+        writer.close();
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(Snapshot.MAGIC, bytes.getInt(0));
+        assertEquals(Snapshot.VERSION, bytes.getShort(4));
+        assertEquals(0, bytes.getInt(Snapshot.NUM_RUNWAYS_POSITION));
+        assertEquals(0, bytes.getInt(Snapshot.NUM_FLIGHTS_POSITION));
+        assertEquals(Snapshot.HEADER_SIZE, bytes.getLong(Snapshot.STRINGS_OFFSET_POSITION));
+        assertEquals(1, bytes.getInt(Snapshot.HEADER_SIZE)); // only the airport name
+        assertEquals(Snapshot.HEADER_SIZE + 8 + "Empty Airport".length(), bytes.capacity());
+    }
+
+    @Test
+    public void testWriterFixedWidthRecords() throws IOException {
+        Path file = directory.resolve("general.snap");
+        Airport airport = new Airport("Test Airport", 10, 2);
+        for (int i = 0; i < 3; i++) {
+            Flight flight = new Flight("Flight " + i, "Commercial", Flight.TYPE_DEPARTURE);
+            flight.setOrigin("YVR");
+            flight.setDestination("YYZ");
+            airport.addFlight(flight);
+        }
+        SnapshotWriter writer = new SnapshotWriter(file.toString());
+        writer.open();
+        writer.write(airport);
+        writer.close();
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        int flightsOffset = (int) bytes.getLong(Snapshot.FLIGHTS_OFFSET_POSITION);
+        assertEquals(Snapshot.HEADER_SIZE + 2 * Snapshot.RUNWAY_RECORD_SIZE, flightsOffset);
+        assertEquals(flightsOffset + 3 * Snapshot.FLIGHT_RECORD_SIZE, bytes.getLong(Snapshot.STRINGS_OFFSET_POSITION));
+        int second = flightsOffset + Snapshot.FLIGHT_RECORD_SIZE;
+        assertEquals(airport.getFlightsQueue().get(1).getFlightNumber(), bytes.getInt(second));
+        assertEquals(bytes.getInt(flightsOffset + Snapshot.ORIGIN), bytes.getInt(second + Snapshot.ORIGIN));
+        assertEquals(Flight.MAX_AIRPLANE_FUEL, bytes.get(second + Snapshot.AIRPLANE_FUEL));
+        assertEquals(Flight.TYPE_DEPARTURE, bytes.get(second + Snapshot.TYPE));
+        // name, classification, origin and destination are shared, 3 flight names
+        assertEquals(7, SnapshotReader.readStrings(bytes, file.toString()).length);
+    }
+}
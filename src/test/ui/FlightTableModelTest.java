@@ -0,0 +1,115 @@
+package ui;
+
+import model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightTableModelTest {
+    private static final int NUMBER_COLUMN = 0;
+    private static final int AIRPLANE_COLUMN = 2;
+    private static final int FUEL_COLUMN = 8;
+
+    private List<Flight> flights;
+    private FlightTableModel model;
+
+    @BeforeEach
+    void runBefore() {
+        flights = new ArrayList<>();
+        flights.add(new Flight(5, "B737", "passenger", Flight.TYPE_ARIVAL, 30));
+        flights.add(new Flight(3, "A320", "cargo", Flight.TYPE_DEPARTURE, 10));
+        flights.add(new Flight(4, "B737", "cargo", Flight.TYPE_ARIVAL, 50));
+        flights.add(new Flight(1, null, "passenger", Flight.TYPE_DEPARTURE, 20));
+        flights.add(new Flight(2, "A320", "passenger", Flight.TYPE_ARIVAL, 40));
+        model = new FlightTableModel(flights);
+    }
+
+    @Test
+    void testShowsFlightsInOrder() {
+        assertEquals(5, model.getRowCount());
+        assertEquals(9, model.getColumnCount());
+        assertEquals("Airplane", model.getColumnName(AIRPLANE_COLUMN));
+        assertEquals(Integer.class, model.getColumnClass(FUEL_COLUMN));
+        for (int row = 0; row < flights.size(); row++) {
+            assertSame(flights.get(row), model.getFlightAt(row));
+        }
+        assertEquals(5, model.getValueAt(0, NUMBER_COLUMN));
+        assertEquals("Arrival", model.getValueAt(0, 1));
+        assertEquals("Departure", model.getValueAt(1, 1));
+        assertEquals("No", model.getValueAt(0, 7));
+    }
+
+    @Test
+    void testSortIsStable() {
+        model.sortBy(AIRPLANE_COLUMN);
+        assertNumbers(1, 3, 2, 5, 4); // empty name first, equal names keep their order
+    }
+
+    @Test
+    void testSortReversed() {
+        model.sortBy(AIRPLANE_COLUMN);
+        model.sortBy(AIRPLANE_COLUMN);
+        assertNumbers(5, 4, 3, 2, 1); // equal names still keep their order
+        model.sortBy(AIRPLANE_COLUMN);
+        assertNumbers(1, 3, 2, 5, 4);
+    }
+
+    @Test
+    void testSortByNumbers() {
+        model.sortBy(NUMBER_COLUMN);
+        assertNumbers(1, 2, 3, 4, 5);
+        model.sortBy(FUEL_COLUMN);
+        assertNumbers(3, 1, 5, 2, 4);
+        model.sortBy(FUEL_COLUMN);
+        assertNumbers(4, 2, 5, 1, 3);
+    }
+
+    @Test
+    void testFilter() {
+        model.setFilter(flight -> flight.getType() == Flight.TYPE_ARIVAL);
+        assertNumbers(5, 4, 2);
+        model.sortBy(NUMBER_COLUMN);
+        assertNumbers(2, 4, 5);
+        model.setFilter(flight -> "cargo".equals(flight.getClassification()));
+        assertNumbers(3, 4); // keeps the sort order
+        model.setFilter(flight -> false);
+        assertEquals(0, model.getRowCount());
+        model.setFilter(null);
+        assertNumbers(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void testShownFlights() {
+        model.setShownFlights(new int[] { 0, 2, 4 });
+        assertNumbers(5, 4, 2);
+        model.sortBy(NUMBER_COLUMN);
+        assertNumbers(2, 4, 5);
+        model.setShownFlights(new int[] { 1, 2 });
+        assertNumbers(3, 4); // keeps the sort order
+        model.setShownFlights(new int[0]);
+        assertEquals(0, model.getRowCount());
+        model.setShownFlights(null);
+        assertNumbers(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void testFilterReplacesShownFlights() {
+        model.setShownFlights(new int[] { 1 });
+        model.setFilter(flight -> flight.getType() == Flight.TYPE_ARIVAL);
+        assertNumbers(5, 4, 2);
+        model.setShownFlights(new int[] { 1 });
+        assertNumbers(3);
+    }
+
+    // EFFECTS: checks that the model shows the flights with numbers, in order
+    private void assertNumbers(int... numbers) {
+        assertEquals(numbers.length, model.getRowCount());
+        for (int row = 0; row < numbers.length; row++) {
+            assertEquals(numbers[row], model.getFlightAt(row).getFlightNumber());
+        }
+    }
+}
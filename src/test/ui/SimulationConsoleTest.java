@@ -0,0 +1,126 @@
+package ui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.SwingUtilities;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.StyleConstants;
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationConsoleTest {
+    private static final int MAX_LINES = 100;
+
+    @TempDir
+    Path directory;
+
+    private SimulationConsole console;
+
+    @BeforeEach
+    void runBefore() throws Exception {
+        SwingUtilities.invokeAndWait(() -> console = new SimulationConsole(MAX_LINES));
+    }
+
+    @Test
+    void testAppendIsBatched() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            console.append("first\n");
+            console.append("second\n");
+            assertEquals("", console.getText()); // inserted after the current event
+        });
+        SwingUtilities.invokeAndWait(() -> assertEquals("first\nsecond\n", console.getText()));
+    }
+
+    @Test
+    void testStyles() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            console.append("Round 1\n");
+            console.append("Flight 7 crashed\n");
+            console.appendError("Failed\n");
+            console.append("landed\n");
+        });
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(Color.WHITE, StyleConstants.getForeground(attributesAt("Round 1")));
+            AttributeSet crash = attributesAt("Flight 7 crashed");
+            assertEquals(Color.RED, StyleConstants.getForeground(crash));
+            assertTrue(StyleConstants.isBold(crash));
+            assertTrue(StyleConstants.isBold(attributesAt("Failed")));
+            assertEquals(Color.GREEN, StyleConstants.getForeground(attributesAt("landed")));
+        });
+    }
+
+    @Test
+    void testTrimsToNineTenths() throws Exception {
+        appendLines(0, MAX_LINES - 1); // and the empty line after the last newline
+        SwingUtilities.invokeAndWait(() -> assertTrue(console.getText().startsWith("line 0\n")));
+        appendLines(MAX_LINES - 1, MAX_LINES + 50);
+        SwingUtilities.invokeAndWait(() -> {
+            String text = console.getText();
+            assertEquals(MAX_LINES * 9 / 10 - 1, text.split("\n").length);
+            assertTrue(text.startsWith("line 61\n"));
+            assertTrue(text.endsWith("line 149\n"));
+        });
+    }
+
+    @Test
+    void testSpillsDroppedLines() throws Exception {
+        Path spill = directory.resolve("console.log");
+        SwingUtilities.invokeAndWait(() -> console.setSpillFile(spill.toString()));
+        appendLines(0, MAX_LINES + 50);
+        SwingUtilities.invokeAndWait(() -> console.close());
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 61; i++) {
+            expected.append("line ").append(i).append("\n");
+        }
+        assertEquals(expected.toString(), readFile(spill));
+        assertTrue(console.getText().startsWith("line 61\n"));
+    }
+
+    @Test
+    void testCloseInsertsPendingText() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            console.append("pending\n");
+            console.close();
+            assertEquals("pending\n", console.getText());
+        });
+    }
+
+    @Test
+    void testClear() throws Exception {
+        appendLines(0, 10);
+        SwingUtilities.invokeAndWait(() -> {
+            console.append("not shown yet\n");
+            console.clear();
+        });
+        SwingUtilities.invokeAndWait(() -> assertEquals("", console.getText()));
+    }
+
+    // EFFECTS: appends lines from (inclusive) to to (exclusive) to the console
+    // and waits until they are inserted
+    private void appendLines(int from, int to) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = from; i < to; i++) {
+                console.append("line " + i + "\n");
+            }
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    // EFFECTS: returns the attributes of the first character of text in the console
+    private AttributeSet attributesAt(String text) {
+        int offset = console.getText().indexOf(text);
+        return console.getStyledDocument().getCharacterElement(offset).getAttributes();
+    }
+
+    // EFFECTS: returns the contents of file
+    private String readFile(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package ui;
+
+import model.Airport;
+import model.SimulationController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationWorkerTest {
+    private SimulationConsole console;
+    private SimulationWorker worker;
+
+    @BeforeEach
+    void runBefore() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            console = new SimulationConsole(2 * SimulationWorker.MAX_PENDING);
+            worker = new SimulationWorker(console, new SimulationController(new Airport("Test", 10, 1)), 1);
+        });
+    }
+
+    @AfterEach
+    void runAfter() throws Exception {
+        SwingUtilities.invokeAndWait(() -> worker.discard());
+    }
+
+    @Test
+    void testShowsOverflowAtOnce() throws Exception {
+        int published = SimulationWorker.MAX_PENDING + 5;
+        SwingUtilities.invokeAndWait(() -> worker.process(entries(published)));
+        SwingUtilities.invokeAndWait(() -> {
+            String text = console.getText();
+            assertTrue(text.startsWith("Entry 0\nEntry 1\nEntry 2\nEntry 3\nEntry 4\n"));
+            assertFalse(text.contains("Entry " + (published - 1) + "\n")); // still waiting
+        });
+    }
+
+    // EFFECTS: returns count log entries, one line each
+    private static List<String> entries(int count) {
+        List<String> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add("Entry " + i + "\n");
+        }
+        return entries;
+    }
+}